@@ -2,20 +2,58 @@ package com.disasterrelief.commandcenter.application;
 
 import com.disasterrelief.commandcenter.domain.command.AcknowledgeCommandCommand;
 import com.disasterrelief.commandcenter.domain.command.SendCommandToTeamCommand;
+import com.disasterrelief.commandcenter.readmodel.CommandStatusRepository;
+import com.disasterrelief.commandcenter.readmodel.CommandStatusView;
+import com.disasterrelief.core.id.IdGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/commands")
 public class CommandController {
 
     private final CommandService commandService;
+    private final IdGenerator ids;
+    private final ObjectProvider<CommandStatusRepository> commandStatus;
 
-    public CommandController(CommandService commandService) {
+    public CommandController(CommandService commandService,
+                             IdGenerator ids,
+                             ObjectProvider<CommandStatusRepository> commandStatus) {
         this.commandService = commandService;
+        this.ids = ids;
+        this.commandStatus = commandStatus;
+    }
+
+    /**
+     * The command's status from the read model, which trails the event store by the projection lag. The read
+     * model lives in Postgres, so there is none with the file event store.
+     */
+    @GetMapping("/{commandId}")
+    public ResponseEntity<CommandStatusView> status(@PathVariable("commandId") UUID commandId) {
+        CommandStatusRepository repository = commandStatus.getIfAvailable();
+        if (repository == null) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        return ResponseEntity.of(repository.findById(commandId));
+    }
+
+    /**
+     * A fresh time-ordered id for the client to send a command under. Ids issued close together sort close
+     * together, which keeps inserts keyed by them local in the indexes.
+     */
+    @PostMapping("/ids")
+    public ResponseEntity<Map<String, UUID>> newCommandId() {
+        return ResponseEntity.ok(Map.of("commandId", ids.nextId()));
     }
 
     @PostMapping("/send")
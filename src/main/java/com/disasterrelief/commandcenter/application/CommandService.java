@@ -3,34 +3,97 @@ package com.disasterrelief.commandcenter.application;
 import com.disasterrelief.commandcenter.domain.aggregate.CommandAggregate;
 import com.disasterrelief.commandcenter.domain.command.SendCommandToTeamCommand;
 import com.disasterrelief.commandcenter.domain.command.AcknowledgeCommandCommand;
+import com.disasterrelief.commandcenter.readmodel.TeamRosterIndex;
+import com.disasterrelief.core.cache.AggregateCache;
 import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.ConcurrencyConflictException;
 import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.snapshot.Snapshot;
+import com.disasterrelief.core.snapshot.SnapshotPolicy;
+import com.disasterrelief.core.snapshot.SnapshotStore;
+import com.disasterrelief.util.EventSerializationUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 public class CommandService {
 
     private final EventStore eventStore;
+    private final SnapshotStore snapshotStore;
+    private final AggregateCache<CommandAggregate.State> cache;
+    private final SnapshotPolicy snapshotPolicy;
+    private final Clock clock;
+    private final TeamRosterIndex roster;
 
-    public CommandService(EventStore eventStore) {
+    public CommandService(EventStore eventStore,
+                          SnapshotStore snapshotStore,
+                          AggregateCache<CommandAggregate.State> cache,
+                          TeamRosterIndex roster,
+                          Clock clock,
+                          @Value("${snapshot.every-events:100}") int snapshotEveryEvents) {
         this.eventStore = eventStore;
+        this.snapshotStore = snapshotStore;
+        this.cache = cache;
+        this.snapshotPolicy = new SnapshotPolicy(snapshotEveryEvents);
+        this.clock = clock;
+        this.roster = roster;
     }
 
     public void sendCommand(SendCommandToTeamCommand command) {
-        List<DomainEvent> pastEvents = eventStore.readByAggregateId(command.commandId());
-        CommandAggregate aggregate = CommandAggregate.rehydrate(pastEvents);
-
-        List<DomainEvent> newEvents = aggregate.handle(command);
-        newEvents.forEach(eventStore::append);
+        roster.requireMembers(command.teamId(), command.expectedAcknowledgerIds());
+        execute(command.commandId(), aggregate -> aggregate.handle(command));
     }
 
     public void acknowledgeCommand(AcknowledgeCommandCommand command) {
-        List<DomainEvent> pastEvents = eventStore.readByAggregateId(command.commandId());
-        CommandAggregate aggregate = CommandAggregate.rehydrate(pastEvents);
+        roster.requireMembers(command.teamId(), List.of(command.memberId()));
+        execute(command.commandId(), aggregate -> aggregate.handle(command));
+    }
+
+    /**
+     * Runs the handler against the cached aggregate. If another writer appended in the meantime the cached
+     * version is stale, so the entry is dropped and the handler runs once more against the event store.
+     */
+    private void execute(UUID commandId, Function<CommandAggregate, List<DomainEvent>> handler) {
+        try {
+            commit(commandId, load(commandId), handler);
+        } catch (ConcurrencyConflictException e) {
+            cache.invalidate(commandId);
+            commit(commandId, rehydrate(commandId), handler);
+        }
+    }
+
+    private CommandAggregate load(UUID commandId) {
+        return cache.get(commandId)
+                .map(entry -> CommandAggregate.rehydrate(entry.state(), entry.version(), List.of()))
+                .orElseGet(() -> rehydrate(commandId));
+    }
+
+    private CommandAggregate rehydrate(UUID commandId) {
+        return snapshotStore.findLatest(commandId)
+                .map(snapshot -> CommandAggregate.rehydrate(
+                        EventSerializationUtil.deserialize(snapshot.state(), CommandAggregate.State.class),
+                        snapshot.version(),
+                        eventStore.readByAggregateId(commandId, snapshot.version())))
+                .orElseGet(() -> CommandAggregate.rehydrate(eventStore.readByAggregateId(commandId)));
+    }
+
+    private void commit(UUID commandId, CommandAggregate aggregate,
+                        Function<CommandAggregate, List<DomainEvent>> handler) {
+        List<DomainEvent> newEvents = handler.apply(aggregate);
+        long versionBefore = aggregate.getVersion();
+        eventStore.append(newEvents, versionBefore);
 
-        List<DomainEvent> newEvents = aggregate.handle(command);
-        newEvents.forEach(eventStore::append);
+        aggregate.replay(newEvents);
+        CommandAggregate.State state = aggregate.toState();
+        cache.put(commandId, state, aggregate.getVersion());
+        if (snapshotPolicy.shouldSnapshot(versionBefore, aggregate.getVersion())) {
+            snapshotStore.save(new Snapshot(commandId, aggregate.getVersion(),
+                    EventSerializationUtil.serialize(state), clock.instant()));
+        }
     }
 }
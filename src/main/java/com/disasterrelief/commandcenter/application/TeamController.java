@@ -0,0 +1,37 @@
+package com.disasterrelief.commandcenter.application;
+
+import com.disasterrelief.commandcenter.domain.valueobject.CommandStatus;
+import com.disasterrelief.commandcenter.readmodel.CommandStatusRepository;
+import com.disasterrelief.commandcenter.readmodel.CommandStatusView;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/teams")
+public class TeamController {
+
+    private final CommandStatusRepository commandStatus;
+
+    public TeamController(CommandStatusRepository commandStatus) {
+        this.commandStatus = commandStatus;
+    }
+
+    /**
+     * The team's commands from the command status read model, newest first.
+     */
+    @GetMapping("/{teamId}/commands")
+    public ResponseEntity<List<CommandStatusView>> commands(@PathVariable("teamId") UUID teamId,
+                                                            @RequestParam(name = "status", required = false) CommandStatus status,
+                                                            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return ResponseEntity.ok(commandStatus.findByTeam(teamId, status, Math.clamp(limit, 1, 1000)));
+    }
+}
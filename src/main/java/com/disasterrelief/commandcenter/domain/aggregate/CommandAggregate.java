@@ -16,15 +16,49 @@ public class CommandAggregate {
     private String messageContent;
     private Instant deadline;
     private CommandStatus status;
+    private long version;
+
+    /**
+     * Snapshot-able state of the aggregate, serialized by the snapshot store.
+     */
+    public record State(UUID commandId, UUID teamId, String messageContent, Instant deadline, CommandStatus status) {
+    }
 
     public static CommandAggregate rehydrate(List<DomainEvent> history) {
         CommandAggregate aggregate = new CommandAggregate();
-        for (DomainEvent event : history) {
-            aggregate.apply(event);
-        }
+        aggregate.replay(history);
+        return aggregate;
+    }
+
+    /**
+     * Restores the aggregate from a snapshot taken at {@code snapshotVersion} and replays the events after it.
+     */
+    public static CommandAggregate rehydrate(State snapshot, long snapshotVersion, List<DomainEvent> tail) {
+        CommandAggregate aggregate = new CommandAggregate();
+        aggregate.commandId = snapshot.commandId();
+        aggregate.teamId = snapshot.teamId();
+        aggregate.messageContent = snapshot.messageContent();
+        aggregate.deadline = snapshot.deadline();
+        aggregate.status = snapshot.status();
+        aggregate.version = snapshotVersion;
+        aggregate.replay(tail);
         return aggregate;
     }
 
+    /**
+     * Applies events committed after the current version, e.g. the ones just returned by a command handler.
+     */
+    public void replay(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            apply(event);
+            version++;
+        }
+    }
+
+    public State toState() {
+        return new State(commandId, teamId, messageContent, deadline, status);
+    }
+
     private void apply(DomainEvent event) {
         if (event instanceof CommandIssuedEvent e) {
             this.commandId = e.commandId();
@@ -70,4 +104,11 @@ public class CommandAggregate {
                 command.acknowledgedAt()
         ));
     }
+
+    /**
+     * Number of events this aggregate was rehydrated from, used as the expected version on append.
+     */
+    public long getVersion() {
+        return version;
+    }
 }
@@ -13,15 +13,48 @@ public class TeamAggregate {
     private String name;
     private List<TeamMember> members = new ArrayList<>();
     private boolean created = false;
+    private long version;
+
+    /**
+     * Snapshot-able state of the aggregate, serialized by the snapshot store.
+     */
+    public record State(UUID teamId, String name, List<TeamMember> members, boolean created) {
+    }
 
     public static TeamAggregate rehydrate(List<DomainEvent> history) {
         TeamAggregate agg = new TeamAggregate();
-        for (DomainEvent event : history) {
-            agg.apply(event);
-        }
+        agg.replay(history);
+        return agg;
+    }
+
+    /**
+     * Restores the aggregate from a snapshot taken at {@code snapshotVersion} and replays the events after it.
+     */
+    public static TeamAggregate rehydrate(State snapshot, long snapshotVersion, List<DomainEvent> tail) {
+        TeamAggregate agg = new TeamAggregate();
+        agg.teamId = snapshot.teamId();
+        agg.name = snapshot.name();
+        agg.members = new ArrayList<>(snapshot.members());
+        agg.created = snapshot.created();
+        agg.version = snapshotVersion;
+        agg.replay(tail);
         return agg;
     }
 
+    /**
+     * Applies events committed after the current version, e.g. the ones just returned by a command handler.
+     */
+    public void replay(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            apply(event);
+            version++;
+        }
+    }
+
+    public State toState() {
+        return new State(teamId, name, List.copyOf(members), created);
+    }
+
     private void apply(DomainEvent event) {
         if (event instanceof TeamCreatedEvent e) {
             this.teamId = e.teamId();
@@ -50,4 +83,5 @@ public class TeamAggregate {
     public UUID getTeamId() { return teamId; }
     public String getName() { return name; }
     public List<TeamMember> getMembers() { return members; }
+    public long getVersion() { return version; }
 }
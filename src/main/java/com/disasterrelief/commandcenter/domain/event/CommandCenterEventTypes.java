@@ -0,0 +1,25 @@
+package com.disasterrelief.commandcenter.domain.event;
+
+import com.disasterrelief.core.event.EventTypeRegistry;
+import com.disasterrelief.core.event.SagaCompensatedEvent;
+
+/**
+ * Stored type codes of the command center's events. Codes are persisted with every event; never change or
+ * reuse one.
+ */
+public final class CommandCenterEventTypes {
+
+    private static final EventTypeRegistry REGISTRY = new EventTypeRegistry()
+            .register("command.issued", CommandIssuedEvent.class)
+            .register("command.acknowledged", CommandAcknowledgedEvent.class)
+            .register("command.escalated", CommandEscalatedEvent.class)
+            .register("team.created", TeamCreatedEvent.class)
+            .register("saga.compensated", SagaCompensatedEvent.class);
+
+    private CommandCenterEventTypes() {
+    }
+
+    public static EventTypeRegistry registry() {
+        return REGISTRY;
+    }
+}
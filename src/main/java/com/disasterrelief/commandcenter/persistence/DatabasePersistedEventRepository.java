@@ -1,27 +1,89 @@
 package com.disasterrelief.commandcenter.persistence;
 
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.EventTypeRegistry;
+import com.disasterrelief.core.eventstore.AppendListener;
+import com.disasterrelief.core.eventstore.PayloadStorage;
 import com.disasterrelief.core.eventstore.PersistedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
 public class DatabasePersistedEventRepository implements PersistedEventRepository {
 
     private final JpaPersistedEventRepository jpaRepo;
+    private final TransactionTemplate readTransaction;
+    private final Limit pageSize;
+    private final PayloadStorage payloadStorage;
+    private final EventTypeRegistry eventTypes;
+    private final List<AppendListener> listeners;
 
-    public DatabasePersistedEventRepository(JpaPersistedEventRepository jpaRepo) {
+    public DatabasePersistedEventRepository(JpaPersistedEventRepository jpaRepo,
+                                            EventTypeRegistry eventTypes,
+                                            ObjectProvider<AppendListener> listeners,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${eventstore.read.page-size:500}") int pageSize,
+                                            @Value("${eventstore.payload.storage:JSONB}") PayloadStorage payloadStorage) {
         this.jpaRepo = jpaRepo;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.pageSize = Limit.of(pageSize);
+        this.payloadStorage = payloadStorage;
+        this.eventTypes = eventTypes;
+        this.listeners = listeners.orderedStream().toList();
     }
 
     @Override
+    @Transactional
     public void save(PersistedEvent event) {
-        jpaRepo.save(event);
+        if (event.getVersion() == 0) {
+            event.setVersion(jpaRepo.reserveStreamVersions(event.getSagaId(), 1));
+        }
+        if (event.getGlobalPosition() == 0) {
+            event.setGlobalPosition(jpaRepo.nextGlobalPositions(1).getFirst());
+        }
+        String json = event.getEventPayload();
+        payloadStorage.write(event, json);
+        if (listeners.isEmpty()) {
+            jpaRepo.save(event);
+            return;
+        }
+        // Same contract as JpaEventStore: listeners run in this transaction, after the row is written
+        jpaRepo.saveAndFlush(event);
+        List<PersistedEvent> rows = List.of(event);
+        List<DomainEvent> events = List.of(eventTypes.deserialize(event.getEventType(), json));
+        for (AppendListener listener : listeners) {
+            listener.onAppend(rows, events);
+        }
     }
 
     @Override
     public List<PersistedEvent> findBySagaId(UUID sagaId) {
-        return jpaRepo.findBySagaId(sagaId);
+        return jpaRepo.findBySagaIdOrderByVersionAsc(sagaId);
+    }
+
+    /**
+     * Keyset pages over the global position, each read in its own short transaction.
+     */
+    @Override
+    public Stream<PersistedEvent> streamAll() {
+        return Stream.iterate(readPage(0), page -> !page.isEmpty(), page -> readPage(page.getLast().getGlobalPosition()))
+                .flatMap(List::stream);
+    }
+
+    private List<PersistedEvent> readPage(long afterPosition) {
+        return readTransaction.execute(status ->
+                jpaRepo.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(afterPosition, pageSize));
     }
 }
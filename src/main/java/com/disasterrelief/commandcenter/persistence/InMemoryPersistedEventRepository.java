@@ -1,23 +1,54 @@
 package com.disasterrelief.commandcenter.persistence;
 
 import com.disasterrelief.core.eventstore.PersistedEvent;
+import com.disasterrelief.util.AppendOnlyLog;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
+/**
+ * Repository for tests and simulations. Each saga has its own {@link AppendOnlyLog}, and every event is also
+ * appended to a global log in position order. Writers are serialized by one lock; reads return immutable
+ * snapshots without locking and never block writers.
+ */
 public class InMemoryPersistedEventRepository implements PersistedEventRepository {
 
-    // Map<SagaId, List of PersistedEvent>
-    private final Map<UUID, List<PersistedEvent>> storage = new ConcurrentHashMap<>();
+    private final Map<UUID, AppendOnlyLog<PersistedEvent>> storage = new ConcurrentHashMap<>();
+    private final AppendOnlyLog<PersistedEvent> all = new AppendOnlyLog<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
 
+    /**
+     * Assigns the version and the global position and appends to both logs under the same lock, which is also
+     * what serializes the appends of each log; global positions thus increase with each saga's versions.
+     */
     @Override
     public void save(PersistedEvent event) {
-        storage.computeIfAbsent(event.getSagaId(), k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(event);
+        AppendOnlyLog<PersistedEvent> events = storage.computeIfAbsent(event.getSagaId(), k -> new AppendOnlyLog<>());
+        writeLock.lock();
+        try {
+            if (event.getVersion() == 0) {
+                event.setVersion(events.size() + 1);
+            }
+            if (event.getGlobalPosition() == 0) {
+                event.setGlobalPosition(all.size() + 1);
+            }
+            events.append(index -> event);
+            all.append(position -> event);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
     public List<PersistedEvent> findBySagaId(UUID sagaId) {
-        return storage.getOrDefault(sagaId, Collections.emptyList());
+        AppendOnlyLog<PersistedEvent> events = storage.get(sagaId);
+        return events == null ? Collections.emptyList() : events.snapshot();
+    }
+
+    @Override
+    public Stream<PersistedEvent> streamAll() {
+        return all.snapshot().stream();
     }
 }
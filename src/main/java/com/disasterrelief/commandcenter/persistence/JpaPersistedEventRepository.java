@@ -1,11 +1,79 @@
 package com.disasterrelief.commandcenter.persistence;
 
 import com.disasterrelief.core.eventstore.PersistedEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 public interface JpaPersistedEventRepository extends JpaRepository<PersistedEvent, UUID> {
-    List<PersistedEvent> findBySagaId(UUID sagaId);
+    List<PersistedEvent> findBySagaIdOrderByVersionAsc(UUID sagaId);
+
+    List<PersistedEvent> findBySagaIdAndVersionGreaterThanOrderByVersionAsc(UUID sagaId, long version);
+
+    @Query(value = "select coalesce((select version from event_streams where stream_id = :sagaId), 0)",
+            nativeQuery = true)
+    long findCurrentVersion(@Param("sagaId") UUID sagaId);
+
+    /**
+     * Creates the stream at {@code version}; returns 0 if it already exists.
+     */
+    @Modifying
+    @Query(value = """
+            insert into event_streams (stream_id, version) values (:sagaId, :version)
+            on conflict (stream_id) do nothing""", nativeQuery = true)
+    int createStream(@Param("sagaId") UUID sagaId, @Param("version") long version);
+
+    /**
+     * Moves the stream from {@code expectedVersion} to {@code newVersion}; returns 0 if it is at any other
+     * version. The row lock queues concurrent writers of the stream, and all but the first then fail.
+     */
+    @Modifying
+    @Query(value = """
+            update event_streams set version = :newVersion
+            where stream_id = :sagaId and version = :expectedVersion""", nativeQuery = true)
+    int advanceStreamVersion(@Param("sagaId") UUID sagaId,
+                             @Param("expectedVersion") long expectedVersion,
+                             @Param("newVersion") long newVersion);
+
+    /**
+     * Reserves the next {@code count} versions of the stream and returns the last of them.
+     */
+    @Query(value = """
+            insert into event_streams (stream_id, version) values (:sagaId, :count)
+            on conflict (stream_id) do update set version = event_streams.version + excluded.version
+            returning version""", nativeQuery = true)
+    long reserveStreamVersions(@Param("sagaId") UUID sagaId, @Param("count") int count);
+
+    /**
+     * Events of one type whose jsonb payload contains {@code json}; served by the GIN payload index.
+     */
+    @Query(value = """
+            select * from persisted_events
+            where event_type = :eventType and event_payload @> cast(:json as jsonb)
+            order by global_position""", nativeQuery = true)
+    List<PersistedEvent> findByEventTypeAndPayloadContaining(@Param("eventType") String eventType,
+                                                             @Param("json") String json);
+
+    List<PersistedEvent> findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(long globalPosition, Limit limit);
+
+    /**
+     * The highest global position of the events created before {@code createdBefore}, or 0 if there are none.
+     */
+    @Query(value = """
+            select coalesce(max(global_position), 0) from persisted_events
+            where created_at < :createdBefore""", nativeQuery = true)
+    long findLastPositionCreatedBefore(@Param("createdBefore") Instant createdBefore);
+
+    /**
+     * Reserves {@code count} global positions in one round trip.
+     */
+    @Query(value = "select nextval('persisted_events_global_position_seq') from generate_series(1, :count)",
+            nativeQuery = true)
+    List<Long> nextGlobalPositions(@Param("count") int count);
 }
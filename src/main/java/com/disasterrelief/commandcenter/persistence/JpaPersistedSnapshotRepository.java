@@ -0,0 +1,28 @@
+package com.disasterrelief.commandcenter.persistence;
+
+import com.disasterrelief.core.snapshot.PersistedSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface JpaPersistedSnapshotRepository extends JpaRepository<PersistedSnapshot, UUID> {
+
+    /**
+     * Inserts the snapshot or replaces an older one; a concurrent writer with a newer snapshot wins.
+     */
+    @Modifying
+    @Query(value = """
+            insert into aggregate_snapshots (aggregate_id, version, state, created_at)
+            values (:aggregateId, :version, :state, :createdAt)
+            on conflict (aggregate_id) do update
+            set version = excluded.version, state = excluded.state, created_at = excluded.created_at
+            where aggregate_snapshots.version < excluded.version""", nativeQuery = true)
+    int upsertIfNewer(@Param("aggregateId") UUID aggregateId,
+                      @Param("version") long version,
+                      @Param("state") String state,
+                      @Param("createdAt") Instant createdAt);
+}
@@ -4,8 +4,21 @@ import com.disasterrelief.core.eventstore.PersistedEvent;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PersistedEventRepository {
+    /**
+     * Saves the event, assigning the next version of its saga if none is set.
+     */
     void save(PersistedEvent event);
+
+    /**
+     * Events of one saga, ordered by version.
+     */
     List<PersistedEvent> findBySagaId(UUID sagaId);
+
+    /**
+     * Events of all sagas, ordered by global position.
+     */
+    Stream<PersistedEvent> streamAll();
 }
@@ -0,0 +1,118 @@
+package com.disasterrelief.commandcenter.readmodel;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandEscalatedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.CommandStatus;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.projection.Projection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Maintains {@code command_status}. The status follows {@code CommandAggregate}; the counts and pending members
+ * follow each acknowledgement, counting a member once however often they acknowledge. Acknowledgements and
+ * escalations are applied from the envelope header alone, so only issued events are decoded, along with
+ * acknowledgements stored as bytea before their member id had a column of its own.
+ *
+ * <p>Events are applied in store order, with consecutive events of one type sent as a single JDBC batch.
+ */
+@Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class CommandStatusProjection implements Projection {
+
+    private static final String ISSUE = """
+            insert into command_status (command_id, team_id, status, issued_at, deadline,
+                                        expected_acknowledgements, acknowledgements, pending_member_ids, updated_at)
+            values (?, ?, ?, ?, ?, ?, 0, cast(? as uuid[]), ?)
+            on conflict (command_id) do nothing""";
+
+    private static final String ACKNOWLEDGE = """
+            update command_status
+            set acknowledgements   = acknowledgements + 1,
+                pending_member_ids = array_remove(pending_member_ids, ?),
+                status             = case when status = 'ISSUED' then 'ACKNOWLEDGED' else status end,
+                updated_at         = ?
+            where command_id = ? and ? = any (pending_member_ids)""";
+
+    private static final String ESCALATE = """
+            update command_status set status = 'ESCALATED', updated_at = ? where command_id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    public CommandStatusProjection(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public String name() {
+        return "command-status";
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(CommandIssuedEvent.class, CommandAcknowledgedEvent.class, CommandEscalatedEvent.class);
+    }
+
+    @Override
+    public void apply(List<EventEnvelope> events) {
+        Timestamp now = Timestamp.from(clock.instant());
+        String statement = null;
+        List<Object[]> batch = new ArrayList<>();
+        for (EventEnvelope envelope : events) {
+            String next = statementFor(envelope);
+            if (!next.equals(statement)) {
+                flush(statement, batch);
+                statement = next;
+            }
+            batch.add(arguments(envelope, now));
+        }
+        flush(statement, batch);
+    }
+
+    private static String statementFor(EventEnvelope envelope) {
+        if (envelope.is(CommandIssuedEvent.class)) return ISSUE;
+        if (envelope.is(CommandAcknowledgedEvent.class)) return ACKNOWLEDGE;
+        return ESCALATE;
+    }
+
+    private Object[] arguments(EventEnvelope envelope, Timestamp now) {
+        if (envelope.is(CommandIssuedEvent.class)) {
+            CommandIssuedEvent issued = (CommandIssuedEvent) envelope.event();
+            return new Object[] {issued.commandId(), issued.teamId(), CommandStatus.ISSUED.name(),
+                    Timestamp.from(issued.issuedAt()), Timestamp.from(issued.deadline()),
+                    issued.expectedAcknowledgerIds().size(), uuidArray(issued.expectedAcknowledgerIds()), now};
+        }
+        if (envelope.is(CommandAcknowledgedEvent.class)) {
+            UUID memberId = envelope.memberId() != null
+                    ? envelope.memberId()
+                    : ((CommandAcknowledgedEvent) envelope.event()).memberId();
+            return new Object[] {memberId, now, envelope.aggregateId(), memberId};
+        }
+        return new Object[] {now, envelope.aggregateId()};
+    }
+
+    private void flush(String statement, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate(statement, batch);
+        batch.clear();
+    }
+
+    private static String uuidArray(Set<UUID> ids) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        ids.forEach(id -> literal.add(id.toString()));
+        return literal.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.disasterrelief.commandcenter.readmodel;
+
+import com.disasterrelief.commandcenter.domain.valueobject.CommandStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the command status model. Every query is a single index lookup, in index order for the team queries:
+ * {@code (team_id, status, issued_at desc)} with a status and {@code (team_id, issued_at desc)} without.
+ */
+@Repository
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class CommandStatusRepository {
+
+    private static final String COLUMNS = """
+            select command_id, team_id, status, issued_at, deadline, expected_acknowledgements, acknowledgements,
+                   pending_member_ids, updated_at
+            from command_status""";
+
+    private static final RowMapper<CommandStatusView> MAPPER = CommandStatusRepository::map;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommandStatusRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<CommandStatusView> findById(UUID commandId) {
+        return jdbcTemplate.query(COLUMNS + " where command_id = ?", MAPPER, commandId).stream().findFirst();
+    }
+
+    /**
+     * The team's commands, newest first, optionally only those in {@code status}.
+     */
+    public List<CommandStatusView> findByTeam(UUID teamId, CommandStatus status, int limit) {
+        if (status == null) {
+            return jdbcTemplate.query(COLUMNS + " where team_id = ? order by issued_at desc limit ?",
+                    MAPPER, teamId, limit);
+        }
+        return jdbcTemplate.query(COLUMNS + " where team_id = ? and status = ? order by issued_at desc limit ?",
+                MAPPER, teamId, status.name(), limit);
+    }
+
+    private static CommandStatusView map(ResultSet rs, int rowNum) throws SQLException {
+        Array pending = rs.getArray("pending_member_ids");
+        return new CommandStatusView(
+                rs.getObject("command_id", UUID.class),
+                rs.getObject("team_id", UUID.class),
+                CommandStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("issued_at").toInstant(),
+                rs.getTimestamp("deadline").toInstant(),
+                rs.getInt("expected_acknowledgements"),
+                rs.getInt("acknowledgements"),
+                Arrays.stream((UUID[]) pending.getArray()).toList(),
+                rs.getTimestamp("updated_at").toInstant());
+    }
+}
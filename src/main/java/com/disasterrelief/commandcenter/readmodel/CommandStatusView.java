@@ -0,0 +1,23 @@
+package com.disasterrelief.commandcenter.readmodel;
+
+import com.disasterrelief.commandcenter.domain.valueobject.CommandStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A row of the command status read model.
+ */
+public record CommandStatusView(
+        UUID commandId,
+        UUID teamId,
+        CommandStatus status,
+        Instant issuedAt,
+        Instant deadline,
+        int expectedAcknowledgements,
+        int acknowledgements,
+        List<UUID> pendingMemberIds,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,151 @@
+package com.disasterrelief.commandcenter.readmodel;
+
+import com.disasterrelief.commandcenter.domain.entity.TeamMember;
+import com.disasterrelief.commandcenter.domain.event.TeamCreatedEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory roster of every team, built from {@link TeamCreatedEvent}s: hash lookups from team to members and
+ * from member to teams, so that commands can be validated without rehydrating {@code TeamAggregate}.
+ *
+ * <p>The index tails the event store from its own position, which it keeps in memory. The first refresh, run
+ * when the application is ready, reads the whole store, decoding only team events, and after that a refresh
+ * on a schedule reads just the new tail. Validation waits for the first refresh, so a request that arrives
+ * before it is never let through unchecked. With {@code teams.roster.require-known-team} on, an unknown team
+ * triggers an extra refresh before it is rejected, unless the index was refreshed within
+ * {@code teams.roster.unknown-team-refresh-interval}. Reads are lock-free; refreshes are serialized.
+ */
+@Component
+public class TeamRosterIndex {
+
+    private final EventStore eventStore;
+    private final int batchSize;
+    private final boolean requireKnownTeam;
+    private final long unknownTeamRefreshNanos;
+    private final Map<UUID, Set<UUID>> membersByTeam = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> teamsByMember = new ConcurrentHashMap<>();
+    private long position;
+    private volatile boolean loaded;
+    private volatile long refreshedAt;
+
+    public TeamRosterIndex(EventStore eventStore,
+                           @Value("${teams.roster.batch-size:1000}") int batchSize,
+                           @Value("${teams.roster.require-known-team:false}") boolean requireKnownTeam,
+                           @Value("${teams.roster.unknown-team-refresh-interval:1s}") Duration unknownTeamRefreshInterval) {
+        this.eventStore = eventStore;
+        this.batchSize = batchSize;
+        this.requireKnownTeam = requireKnownTeam;
+        this.unknownTeamRefreshNanos = unknownTeamRefreshInterval.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!loaded) refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${teams.roster.refresh-interval:1s}")
+    public synchronized void refresh() {
+        List<EventEnvelope> batch;
+        do {
+            batch = eventStore.readEnvelopesFrom(position, batchSize);
+            for (EventEnvelope envelope : batch) {
+                if (envelope.is(TeamCreatedEvent.class)) {
+                    apply((TeamCreatedEvent) envelope.event());
+                }
+                position = envelope.position();
+            }
+        } while (batch.size() == batchSize);
+        refreshedAt = System.nanoTime();
+        loaded = true;
+    }
+
+    public boolean knowsTeam(UUID teamId) {
+        return membersByTeam.containsKey(teamId);
+    }
+
+    public boolean isMember(UUID teamId, UUID memberId) {
+        return membersByTeam.getOrDefault(teamId, Set.of()).contains(memberId);
+    }
+
+    public Set<UUID> membersOf(UUID teamId) {
+        return membersByTeam.getOrDefault(teamId, Set.of());
+    }
+
+    public Set<UUID> teamsOf(UUID memberId) {
+        return teamsByMember.getOrDefault(memberId, Set.of());
+    }
+
+    /**
+     * Checks that every member belongs to the team. Teams the roster does not know are accepted unless known
+     * teams are required.
+     *
+     * @throws IllegalArgumentException if a member is not on the team, or the team is required but unknown
+     */
+    public void requireMembers(UUID teamId, Collection<UUID> memberIds) {
+        load();
+        if (!knowsTeam(teamId)) {
+            if (!requireKnownTeam) return;
+            refreshIfOlderThan(unknownTeamRefreshNanos);
+            if (!knowsTeam(teamId)) {
+                throw new IllegalArgumentException("Unknown team " + teamId);
+            }
+        }
+        Set<UUID> members = membersByTeam.get(teamId);
+        List<UUID> outsiders = memberIds.stream().filter(id -> !members.contains(id)).toList();
+        if (!outsiders.isEmpty()) {
+            throw new IllegalArgumentException("Not members of team " + teamId + ": " + outsiders);
+        }
+    }
+
+    /**
+     * Bounds the refreshes that requests for unknown teams can cause: callers that find a recent refresh, or
+     * that wait behind one, do not refresh again.
+     */
+    private void refreshIfOlderThan(long nanos) {
+        if (System.nanoTime() - refreshedAt < nanos) return;
+        synchronized (this) {
+            if (System.nanoTime() - refreshedAt < nanos) return;
+            refresh();
+        }
+    }
+
+    private void apply(TeamCreatedEvent event) {
+        Set<UUID> members = new HashSet<>();
+        for (TeamMember member : event.members()) {
+            members.add(member.getMemberId());
+        }
+        Set<UUID> previous = membersByTeam.put(event.teamId(), Set.copyOf(members));
+        if (previous != null) {
+            previous.forEach(memberId ->
+                    teamsByMember.computeIfPresent(memberId, (id, teams) -> without(teams, event.teamId())));
+        }
+        members.forEach(memberId -> teamsByMember.merge(memberId, Set.of(event.teamId()), TeamRosterIndex::union));
+    }
+
+    private static Set<UUID> union(Set<UUID> teams, Set<UUID> added) {
+        Set<UUID> union = new HashSet<>(teams);
+        union.addAll(added);
+        return Set.copyOf(union);
+    }
+
+    private static Set<UUID> without(Set<UUID> teams, UUID teamId) {
+        Set<UUID> remaining = new HashSet<>(teams);
+        remaining.remove(teamId);
+        return remaining.isEmpty() ? null : Set.copyOf(remaining);
+    }
+}
@@ -1,10 +1,12 @@
 package com.disasterrelief.commandcenter.saga;
 
 import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandCenterEventTypes;
 import com.disasterrelief.commandcenter.persistence.PersistedEventRepository;
 import com.disasterrelief.core.event.SagaCompensatedEvent;
 import com.disasterrelief.core.event.DomainEvent;
 import com.disasterrelief.core.eventstore.PersistedEvent;
+import com.disasterrelief.core.id.IdGenerator;
 import com.disasterrelief.core.saga.CompensationHandler;
 import com.disasterrelief.core.saga.Saga;
 import com.disasterrelief.util.EventSerializationUtil;
@@ -22,6 +24,7 @@ public class CommandSaga implements Saga<UUID> {
     private final Instant deadline;
     private final CompensationHandler<UUID> compensationHandler;
     private final Clock clock;
+    private final IdGenerator ids;
 
     private SagaStatus status = SagaStatus.PENDING;
     private Instant compensationTime;
@@ -34,7 +37,7 @@ public class CommandSaga implements Saga<UUID> {
                        Set<UUID> expectedAcknowledgers,
                        Instant deadline,
                        CompensationHandler<UUID> compensationHandler,
-                       Clock clock, PersistedEventRepository persistedEventRepository) {
+                       Clock clock, IdGenerator ids, PersistedEventRepository persistedEventRepository) {
         this.persistedEventRepository = persistedEventRepository;
         if (commandId == null) throw new IllegalArgumentException("commandId must not be null");
         if (teamId == null) throw new IllegalArgumentException("teamId must not be null");
@@ -43,6 +46,7 @@ public class CommandSaga implements Saga<UUID> {
         if (deadline == null) throw new IllegalArgumentException("deadline must not be null");
         if (compensationHandler == null) throw new IllegalArgumentException("compensationHandler must not be null");
         if (clock == null) throw new IllegalArgumentException("clock must not be null");
+        if (ids == null) throw new IllegalArgumentException("ids must not be null");
 
         this.commandId = commandId;
         this.teamId = teamId;
@@ -50,6 +54,7 @@ public class CommandSaga implements Saga<UUID> {
         this.deadline = deadline;
         this.compensationHandler = compensationHandler;
         this.clock = clock;
+        this.ids = ids;
     }
 
     // ✅ Convenience constructor for production usage
@@ -57,8 +62,8 @@ public class CommandSaga implements Saga<UUID> {
                        UUID teamId,
                        Set<UUID> expectedAcknowledgers,
                        Instant deadline,
-                       CompensationHandler<UUID> compensationHandler, PersistedEventRepository persistedEventRepository) {
-        this(commandId, teamId, expectedAcknowledgers, deadline, compensationHandler, Clock.systemUTC(), persistedEventRepository);
+                       CompensationHandler<UUID> compensationHandler, IdGenerator ids, PersistedEventRepository persistedEventRepository) {
+        this(commandId, teamId, expectedAcknowledgers, deadline, compensationHandler, Clock.systemUTC(), ids, persistedEventRepository);
     }
 
     @Override
@@ -71,18 +76,29 @@ public class CommandSaga implements Saga<UUID> {
         if (event == null) return;
 
         // Persist the event first
-        try {
-            String json = EventSerializationUtil.serialize(event);
-            PersistedEvent persistedEvent = PersistedEvent.builder()
-                    .id(UUID.randomUUID())
-                    .sagaId(commandId)
-                    .eventType(event.getClass().getName())
-                    .eventPayload(json)
-                    .createdAt(Instant.now(clock))
-                    .build();
-            persistedEventRepository.save(persistedEvent);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to persist event", e);
+        persist(event);
+        apply(event);
+        checkTimeout();
+    }
+
+    /**
+     * Rebuilds state from an event already persisted: nothing is written, a replayed compensation restores
+     * the outcome without compensating again, and a deadline that passed is left to {@link #onDeadline()}.
+     */
+    @Override
+    public void replay(DomainEvent event) {
+        if (event == null) return;
+        apply(event);
+    }
+
+    private void apply(DomainEvent event) {
+        if (event instanceof SagaCompensatedEvent compensated) {
+            if (compensated.commandId().equals(commandId) && status == SagaStatus.PENDING) {
+                status = SagaStatus.COMPENSATED;
+                compensationTime = compensated.compensatedAt();
+                compensationReason = compensated.reason();
+            }
+            return;
         }
 
         if (event instanceof CommandAcknowledgedEvent ack) {
@@ -98,9 +114,44 @@ public class CommandSaga implements Saga<UUID> {
             }
 
         }
+    }
 
-        checkTimeout();
+    private void persist(DomainEvent event) {
+        try {
+            String json = EventSerializationUtil.serialize(event);
+            PersistedEvent persistedEvent = PersistedEvent.builder()
+                    .id(ids.nextId())
+                    .sagaId(commandId)
+                    .eventType(CommandCenterEventTypes.registry().codeOf(event.getClass()))
+                    .teamId(event.teamId())
+                    .memberId(event.memberId())
+                    .eventPayload(json)
+                    .createdAt(Instant.now(clock))
+                    .build();
+            persistedEventRepository.save(persistedEvent);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to persist event", e);
+        }
+    }
+
+    /**
+     * The deadline while acknowledgements are still outstanding; none once the saga completed or compensated.
+     */
+    @Override
+    public Instant deadline() {
+        return status == SagaStatus.PENDING ? deadline : null;
+    }
+
+    /**
+     * Compensates a saga still pending at its deadline, without waiting for another event to arrive.
+     */
+    @Override
+    public void onDeadline() {
+        if (status == SagaStatus.PENDING && !Instant.now(clock).isBefore(deadline)) {
+            compensateDueToTimeout();
+        }
     }
+
     private void checkTimeout() {
         if (status == SagaStatus.PENDING && Instant.now(clock).isAfter(deadline)) {
             compensateDueToTimeout();
@@ -119,9 +170,7 @@ public class CommandSaga implements Saga<UUID> {
         compensationReason = reason;
         compensationHandler.compensate(commandId, reason);
 
-        // Optional: emit SagaCompensatedEvent
-        SagaCompensatedEvent event = new SagaCompensatedEvent(commandId, compensationTime, reason);
-        // publishEvent(event);
+        persist(new SagaCompensatedEvent(commandId, compensationTime, reason));
     }
 
     public static CommandSaga loadFromEvents(UUID commandId,
@@ -130,17 +179,18 @@ public class CommandSaga implements Saga<UUID> {
                                              Instant deadline,
                                              CompensationHandler<UUID> compensationHandler,
                                              PersistedEventRepository repository,
-                                             Clock clock) {
+                                             Clock clock,
+                                             IdGenerator ids) {
 
-        CommandSaga saga = new CommandSaga(commandId, teamId, expectedAcknowledgers, deadline, compensationHandler, clock, repository);
+        CommandSaga saga = new CommandSaga(commandId, teamId, expectedAcknowledgers, deadline, compensationHandler, clock, ids, repository);
 
         List<PersistedEvent> events = repository.findBySagaId(commandId);
 
         for (PersistedEvent persistedEvent : events) {
             try {
-                Class<?> clazz = Class.forName(persistedEvent.getEventType());
-                DomainEvent event = (DomainEvent) EventSerializationUtil.deserialize(persistedEvent.getEventPayload(), clazz);
-                saga.handle(event); // replay each event to rebuild state
+                DomainEvent event = CommandCenterEventTypes.registry()
+                        .deserialize(persistedEvent.getEventType(), persistedEvent.getEventPayload());
+                saga.replay(event); // rebuild state without persisting or compensating
             } catch (Exception e) {
                 throw new RuntimeException("Failed to replay persisted event", e);
             }
@@ -150,9 +200,12 @@ public class CommandSaga implements Saga<UUID> {
 
 
 
+    /**
+     * Whether the saga is done, either because everyone acknowledged or because it compensated.
+     */
     @Override
     public boolean isCompleted() {
-        return status == SagaStatus.COMPLETED;
+        return status != SagaStatus.PENDING;
     }
 
     public SagaStatus getStatus() {
@@ -0,0 +1,134 @@
+package com.disasterrelief.commandcenter.saga;
+
+import com.disasterrelief.core.deadline.DeadlineLoader;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.saga.ConcurrentSagaManager;
+import com.disasterrelief.core.saga.ReplayProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Feeds the command sagas the events recorded in the store and fires their deadlines.
+ *
+ * <p>The runner tails the event store from its own position, which it keeps in memory like the sagas. When the
+ * application is ready it recovers the open sagas as {@code sagas.recovery} says. With
+ * {@link SagaRecovery#DEADLINES} it loads the deadlines due within {@code sagas.deadlines.window} from
+ * {@code saga_deadlines} and starts the tail at the store's settled position, leaving each saga to be rebuilt
+ * from its history once its deadline fires or one of its events comes in; with {@link SagaRecovery#REPLAY} it
+ * replays the whole store on {@code sagas.replay-workers} threads. After that each tick pages in the deadlines
+ * that came into the window, if recovering from them, replays just the new tail and then fires the deadlines
+ * that passed. The events are replayed, not handled, as they are recorded already: a saga acts only when its
+ * deadline fires, compensating and recording a {@code SagaCompensatedEvent}. Catching up before firing means an
+ * acknowledgement recorded before the deadline is always seen first, and no deadline fires before the startup
+ * recovery finished.
+ *
+ * <p>Every instance that runs the sagas compensates the commands it sees expire, so the runner is off unless
+ * {@code sagas.sharding.enabled=true}, where each node fires only the deadlines of its shards, or
+ * {@code sagas.enabled=true} declares this the one instance that runs them. {@code sagas.enabled=false} switches
+ * it off either way.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+@ConditionalOnExpression("${sagas.enabled:${sagas.sharding.enabled:false}}")
+public class CommandSagaRunner {
+
+    private final ConcurrentSagaManager<UUID, CommandSaga> sagas;
+    private final EventStore eventStore;
+    private final DeadlineLoader<UUID> deadlines;
+    private final SagaRecovery recovery;
+    private final int batchSize;
+    private final int replayWorkers;
+    private long position;
+    private volatile boolean loaded;
+
+    public CommandSagaRunner(ConcurrentSagaManager<UUID, CommandSaga> sagas,
+                             EventStore eventStore,
+                             DeadlineLoader<UUID> sagaDeadlineLoader,
+                             @Value("${sagas.recovery:DEADLINES}") SagaRecovery recovery,
+                             @Value("${sagas.batch-size:500}") int batchSize,
+                             @Value("${sagas.replay-workers:8}") int replayWorkers) {
+        this.sagas = sagas;
+        this.eventStore = eventStore;
+        this.deadlines = sagaDeadlineLoader;
+        this.recovery = recovery;
+        this.batchSize = batchSize;
+        this.replayWorkers = replayWorkers;
+    }
+
+    /**
+     * Recovers the open sagas, from their deadlines or by replaying the whole store.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (loaded) return;
+        if (recovery == SagaRecovery.REPLAY) {
+            replay();
+        } else {
+            position = eventStore.settledPosition();
+            int due = deadlines.load();
+            log.info("Loaded {} command saga deadlines due by {}, tailing the store from position {}", due,
+                    deadlines.loadedUntil(), position);
+        }
+        loaded = true;
+    }
+
+    /**
+     * Rebuilds the open sagas from the whole store, in parallel partitions.
+     */
+    private void replay() {
+        AtomicLong replayedUntil = new AtomicLong(position);
+        try (Stream<EventEnvelope> envelopes = readFrom(position)) {
+            ReplayProgress done = sagas.replayInParallel(
+                    envelopes.peek(envelope -> replayedUntil.set(envelope.position())), replayWorkers,
+                    progress -> log.debug("Replaying command sagas: {}", progress));
+            log.info("Replayed {} events into {} open command sagas in {}", done.read(), done.activeSagas(),
+                    done.elapsed());
+        }
+        position = replayedUntil.get();
+    }
+
+    /**
+     * Pages through the store with {@link EventStore#readEnvelopesFrom}, which stops before a gap an in-flight
+     * append may still fill, where {@link EventStore#streamEnvelopes()} reads past it. The stream ends at the
+     * first short page, and {@link #catchUp()} resumes from the last event read, so an append that commits late
+     * into a gap is replayed rather than skipped.
+     */
+    private Stream<EventEnvelope> readFrom(long after) {
+        return Stream.iterate(eventStore.readEnvelopesFrom(after, batchSize), page -> !page.isEmpty(),
+                        page -> page.size() < batchSize ? List.of()
+                                : eventStore.readEnvelopesFrom(page.getLast().position(), batchSize))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * @return the number of deadlines that fired
+     */
+    @Scheduled(fixedDelayString = "${sagas.deadlines.tick:1s}")
+    public int fireDeadlines() {
+        if (!loaded) return 0;
+        if (recovery == SagaRecovery.DEADLINES) deadlines.load();
+        catchUp();
+        return sagas.fireDeadlines();
+    }
+
+    public synchronized void catchUp() {
+        position = sagas.catchUp(eventStore, position, batchSize);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+}
@@ -0,0 +1,78 @@
+package com.disasterrelief.commandcenter.saga;
+
+import com.disasterrelief.core.deadline.Deadline;
+import com.disasterrelief.core.deadline.DeadlineSource;
+import com.disasterrelief.core.shard.OpenSagaSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Reads the deadlines of open command sagas from {@code saga_deadlines}, as keyset pages over its
+ * {@code (deadline, saga_id)} index, and the open sagas of given shards as keyset pages over its primary key.
+ */
+@Repository
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class SagaDeadlineRepository implements DeadlineSource<UUID>, OpenSagaSource {
+
+    private static final RowMapper<Deadline<UUID>> MAPPER = (rs, rowNum) ->
+            new Deadline<>(rs.getObject("saga_id", UUID.class), rs.getTimestamp("deadline").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SagaDeadlineRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Deadline<UUID>> findDue(Deadline<UUID> after, Instant until, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query("""
+                    select saga_id, deadline from saga_deadlines
+                    where deadline <= ?
+                    order by deadline, saga_id
+                    limit ?""", MAPPER, Timestamp.from(until), limit);
+        }
+        return jdbcTemplate.query("""
+                select saga_id, deadline from saga_deadlines
+                where deadline <= ? and (deadline, saga_id) > (?, ?)
+                order by deadline, saga_id
+                limit ?""", MAPPER, Timestamp.from(until), Timestamp.from(after.at()), after.key(), limit);
+    }
+
+    /**
+     * Filters by shard in the query, computing {@code ShardAssignment.shardOf} from the low 32 bits of the id,
+     * so that a node reads only the open sagas of the shards it gained.
+     */
+    @Override
+    public List<UUID> findOpen(Set<Integer> shards, int shardCount, UUID after, int limit) {
+        if (shards.isEmpty()) return List.of();
+        if (after == null) {
+            return jdbcTemplate.queryForList("""
+                    select saga_id from saga_deadlines
+                    where ('x' || right(saga_id::text, 8))::bit(32)::bigint % ? = any (cast(? as int[]))
+                    order by saga_id
+                    limit ?""", UUID.class, shardCount, intArray(shards), limit);
+        }
+        return jdbcTemplate.queryForList("""
+                select saga_id from saga_deadlines
+                where ('x' || right(saga_id::text, 8))::bit(32)::bigint % ? = any (cast(? as int[]))
+                  and saga_id > ?
+                order by saga_id
+                limit ?""", UUID.class, shardCount, intArray(shards), after, limit);
+    }
+
+    private static String intArray(Set<Integer> values) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        values.forEach(value -> literal.add(value.toString()));
+        return literal.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.disasterrelief.commandcenter.saga;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.SagaCompensatedEvent;
+import com.disasterrelief.core.eventstore.AppendListener;
+import com.disasterrelief.core.eventstore.PersistedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Keeps {@code saga_deadlines} in step with the command sagas, in the append transaction: an issued command
+ * opens its row, each expected member's acknowledgement is struck off it, and the row is deleted once nobody
+ * is pending or the saga compensated. Consecutive events of one type are sent as a single JDBC batch.
+ */
+@Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class SagaDeadlineWriter implements AppendListener {
+
+    private static final String OPEN = """
+            insert into saga_deadlines (saga_id, deadline, pending_member_ids)
+            values (?, ?, cast(? as uuid[]))
+            on conflict (saga_id) do nothing""";
+
+    private static final String ACKNOWLEDGE = """
+            update saga_deadlines set pending_member_ids = array_remove(pending_member_ids, ?)
+            where saga_id = ? and ? = any (pending_member_ids)""";
+
+    private static final String CLOSE_ACKNOWLEDGED = """
+            delete from saga_deadlines where saga_id = ? and cardinality(pending_member_ids) = 0""";
+
+    private static final String CLOSE = """
+            delete from saga_deadlines where saga_id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SagaDeadlineWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onAppend(List<PersistedEvent> rows, List<DomainEvent> events) {
+        String statement = null;
+        List<Object[]> batch = new ArrayList<>();
+        for (DomainEvent event : events) {
+            String next = statementFor(event);
+            if (next == null) continue;
+            if (!next.equals(statement)) {
+                flush(statement, batch);
+                statement = next;
+            }
+            batch.add(arguments(event));
+        }
+        flush(statement, batch);
+    }
+
+    private static String statementFor(DomainEvent event) {
+        if (event instanceof CommandIssuedEvent) return OPEN;
+        if (event instanceof CommandAcknowledgedEvent) return ACKNOWLEDGE;
+        if (event instanceof SagaCompensatedEvent) return CLOSE;
+        return null;
+    }
+
+    private static Object[] arguments(DomainEvent event) {
+        if (event instanceof CommandIssuedEvent issued) {
+            return new Object[] {issued.commandId(), Timestamp.from(issued.deadline()),
+                    uuidArray(issued.expectedAcknowledgerIds())};
+        }
+        if (event instanceof CommandAcknowledgedEvent ack) {
+            return new Object[] {ack.memberId(), ack.commandId(), ack.memberId()};
+        }
+        return new Object[] {event.aggregateId()};
+    }
+
+    private void flush(String statement, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate(statement, batch);
+        if (ACKNOWLEDGE.equals(statement)) {
+            jdbcTemplate.batchUpdate(CLOSE_ACKNOWLEDGED, batch.stream().map(args -> new Object[] {args[1]}).toList());
+        }
+        batch.clear();
+    }
+
+    private static String uuidArray(Set<UUID> ids) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        ids.forEach(id -> literal.add(id.toString()));
+        return literal.toString();
+    }
+}
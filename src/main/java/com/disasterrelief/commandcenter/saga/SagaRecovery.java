@@ -0,0 +1,18 @@
+package com.disasterrelief.commandcenter.saga;
+
+/**
+ * How {@link CommandSagaRunner} gets hold of the open command sagas on startup.
+ */
+public enum SagaRecovery {
+
+    /**
+     * Load only the deadlines due soon from {@code saga_deadlines} and rebuild a saga from its history once its
+     * deadline fires or one of its events comes in; startup takes the same time however long the history.
+     */
+    DEADLINES,
+
+    /**
+     * Replay the whole store into the sagas in parallel, so that every open saga is in memory once ready.
+     */
+    REPLAY
+}
@@ -0,0 +1,24 @@
+package com.disasterrelief.config;
+
+import com.disasterrelief.commandcenter.domain.aggregate.CommandAggregate;
+import com.disasterrelief.core.cache.AggregateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class AggregateCacheConfig {
+
+    @Bean
+    public AggregateCache<CommandAggregate.State> commandAggregateCache(
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${aggregate.cache.max-size:10000}") int maxSize,
+            @Value("${aggregate.cache.ttl:10m}") Duration ttl) {
+        return new AggregateCache<CommandAggregate.State>(maxSize, ttl, clock).bindTo(meterRegistry, "command");
+    }
+}
@@ -0,0 +1,22 @@
+package com.disasterrelief.config;
+
+import com.disasterrelief.commandcenter.domain.event.CommandCenterEventTypes;
+import com.disasterrelief.core.event.EventTypeRegistry;
+import com.disasterrelief.core.event.codec.EventSerializers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EventTypeConfig {
+
+    @Bean
+    public EventTypeRegistry eventTypeRegistry() {
+        return CommandCenterEventTypes.registry();
+    }
+
+    @Bean
+    public EventSerializers eventSerializers(@Value("${eventstore.payload.codec:json}") String codec) {
+        return EventSerializers.jackson(codec);
+    }
+}
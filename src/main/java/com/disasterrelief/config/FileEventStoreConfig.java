@@ -0,0 +1,42 @@
+package com.disasterrelief.config;
+
+import com.disasterrelief.core.event.EventTypeRegistry;
+import com.disasterrelief.core.eventstore.file.FileEventStore;
+import com.disasterrelief.core.eventstore.file.FsyncPolicy;
+import com.disasterrelief.core.snapshot.InMemorySnapshotStore;
+import com.disasterrelief.core.snapshot.SnapshotStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Replaces the JPA event store with the segment-file log when {@code eventstore.type=file}. The application then
+ * runs without Postgres: {@link FileEventStoreEnvironmentPostProcessor} leaves out the DataSource, and with it
+ * JPA and Flyway, and the beans that need the database are conditional on {@code eventstore.type=jpa}.
+ * Snapshots are kept in memory and the command status read model is not available.
+ */
+@Configuration
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "file")
+public class FileEventStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public FileEventStore fileEventStore(
+            EventTypeRegistry eventTypes,
+            @Value("${eventstore.file.directory:data/events}") Path directory,
+            @Value("${eventstore.file.segment-size:64MB}") DataSize segmentSize,
+            @Value("${eventstore.file.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+            @Value("${eventstore.file.fsync-interval:1s}") Duration fsyncInterval) {
+        return new FileEventStore(directory, Math.toIntExact(segmentSize.toBytes()), fsyncPolicy, fsyncInterval,
+                eventTypes);
+    }
+
+    @Bean
+    public SnapshotStore inMemorySnapshotStore() {
+        return new InMemorySnapshotStore();
+    }
+}
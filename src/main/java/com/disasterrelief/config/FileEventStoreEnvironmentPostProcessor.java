@@ -0,0 +1,33 @@
+package com.disasterrelief.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Excludes {@link DataSourceAutoConfiguration} when {@code eventstore.type=file}, on top of any exclusions that
+ * are configured. JPA, Flyway and the JDBC templates all back off without a DataSource, so the file store
+ * starts without Postgres even though {@code spring.datasource.*} is set in {@code application.yml}.
+ */
+public class FileEventStoreEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String EXCLUDE = "spring.autoconfigure.exclude";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"file".equals(environment.getProperty("eventstore.type"))) return;
+        Set<String> excluded = new LinkedHashSet<>(
+                Binder.get(environment).bind(EXCLUDE, String[].class).map(List::of).orElse(List.of()));
+        excluded.add(DataSourceAutoConfiguration.class.getName());
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("fileEventStore", Map.of(EXCLUDE, String.join(",", excluded))));
+    }
+}
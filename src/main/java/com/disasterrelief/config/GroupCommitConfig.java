@@ -0,0 +1,36 @@
+package com.disasterrelief.config;
+
+import com.disasterrelief.core.eventstore.GroupCommitEventStore;
+import com.disasterrelief.core.eventstore.JpaEventStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Routes {@code EventStore} injection points through a {@link GroupCommitEventStore} in front of the JPA store
+ * when {@code eventstore.group-commit.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "eventstore.group-commit.enabled", havingValue = "true")
+public class GroupCommitConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public GroupCommitEventStore groupCommitEventStore(
+            JpaEventStore jpaEventStore,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${eventstore.group-commit.batch-size:256}") int batchSize,
+            @Value("${eventstore.group-commit.linger:2ms}") Duration linger,
+            @Value("${eventstore.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${eventstore.group-commit.append-timeout:30s}") Duration appendTimeout) {
+        return new GroupCommitEventStore(jpaEventStore, transactionManager, batchSize, linger, queueCapacity,
+                appendTimeout, meterRegistry);
+    }
+}
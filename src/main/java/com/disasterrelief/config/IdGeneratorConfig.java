@@ -0,0 +1,26 @@
+package com.disasterrelief.config;
+
+import com.disasterrelief.core.id.IdGenerator;
+import com.disasterrelief.core.id.RandomUuidGenerator;
+import com.disasterrelief.core.id.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * {@code ids.generator}: {@code uuid-v7} (time-ordered, the default) or {@code random} (UUID v4).
+     */
+    @Bean
+    public IdGenerator idGenerator(Clock clock, @Value("${ids.generator:uuid-v7}") String generator) {
+        return switch (generator) {
+            case "uuid-v7" -> new UuidV7Generator(clock);
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Unknown id generator: " + generator);
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.disasterrelief.config;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.persistence.PersistedEventRepository;
+import com.disasterrelief.commandcenter.saga.CommandSaga;
+import com.disasterrelief.commandcenter.saga.SagaDeadlineRepository;
+import com.disasterrelief.core.deadline.DeadlineLoader;
+import com.disasterrelief.core.deadline.DeadlineScheduler;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.SagaCompensatedEvent;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.id.IdGenerator;
+import com.disasterrelief.core.saga.CompensationHandler;
+import com.disasterrelief.core.saga.ConcurrentSagaManager;
+import com.disasterrelief.core.saga.ShardedSagaManager;
+import com.disasterrelief.core.shard.ShardLeaseManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Runs a {@link CommandSaga} per issued command, driven by {@code CommandSagaRunner}. Each saga is created from
+ * its {@link CommandIssuedEvent} and rebuilt from the store's history on demand; its deadline sits in a
+ * {@link DeadlineScheduler} ticking every {@code sagas.deadlines.tick}, into which a {@link DeadlineLoader} pages
+ * the deadlines stored in {@code saga_deadlines} {@code sagas.deadlines.window} ahead. A compensated command is
+ * logged and recorded as a {@link SagaCompensatedEvent}. JPA only: the sagas record their compensations through
+ * the {@link PersistedEventRepository}.
+ *
+ * <p>With {@code sagas.sharding.enabled=true} the manager is a {@link ShardedSagaManager}, which runs only the
+ * sagas of the shards this node leases and adopts the open sagas of shards it gains from
+ * {@code saga_deadlines}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class SagaConfig {
+
+    private static final Set<Class<? extends DomainEvent>> HANDLED_TYPES =
+            Set.of(CommandIssuedEvent.class, CommandAcknowledgedEvent.class, SagaCompensatedEvent.class);
+
+    @Bean
+    public DeadlineScheduler<UUID> sagaDeadlineScheduler(Clock clock,
+                                                         @Value("${sagas.deadlines.tick:1s}") Duration tick) {
+        return new DeadlineScheduler<>(clock, tick);
+    }
+
+    @Bean
+    public DeadlineLoader<UUID> sagaDeadlineLoader(DeadlineScheduler<UUID> sagaDeadlineScheduler,
+                                                   SagaDeadlineRepository deadlines,
+                                                   Clock clock,
+                                                   @Value("${sagas.deadlines.window:10m}") Duration window,
+                                                   @Value("${sagas.deadlines.page-size:1000}") int pageSize) {
+        return new DeadlineLoader<>(sagaDeadlineScheduler, deadlines, clock, window, pageSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sagas.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ConcurrentSagaManager<UUID, CommandSaga> commandSagaManager(
+            EventStore eventStore,
+            PersistedEventRepository persistedEventRepository,
+            DeadlineScheduler<UUID> sagaDeadlineScheduler,
+            IdGenerator ids,
+            Clock clock,
+            @Value("${sagas.stripes:1024}") int stripes) {
+        return new ConcurrentSagaManager<>(
+                DomainEvent::aggregateId,
+                commandSagaFactory(persistedEventRepository, ids, clock),
+                event -> event instanceof CommandIssuedEvent,
+                HANDLED_TYPES,
+                sagaDeadlineScheduler,
+                eventStore::readByAggregateId,
+                stripes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sagas.sharding.enabled", havingValue = "true")
+    public ShardedSagaManager<CommandSaga> shardedCommandSagaManager(
+            EventStore eventStore,
+            PersistedEventRepository persistedEventRepository,
+            DeadlineScheduler<UUID> sagaDeadlineScheduler,
+            IdGenerator ids,
+            Clock clock,
+            ShardLeaseManager leases,
+            SagaDeadlineRepository openSagas) {
+        return new ShardedSagaManager<>(
+                DomainEvent::aggregateId,
+                commandSagaFactory(persistedEventRepository, ids, clock),
+                event -> event instanceof CommandIssuedEvent,
+                HANDLED_TYPES,
+                sagaDeadlineScheduler,
+                eventStore::readByAggregateId,
+                leases,
+                openSagas);
+    }
+
+    private static BiFunction<UUID, DomainEvent, CommandSaga> commandSagaFactory(
+            PersistedEventRepository persistedEventRepository, IdGenerator ids, Clock clock) {
+        CompensationHandler<UUID> compensationHandler = (commandId, reason) ->
+                log.warn("Command {} compensated: {}", commandId, reason);
+        return (commandId, startingEvent) -> {
+            CommandIssuedEvent issued = (CommandIssuedEvent) startingEvent;
+            return new CommandSaga(commandId, issued.teamId(), issued.expectedAcknowledgerIds(), issued.deadline(),
+                    compensationHandler, clock, ids, persistedEventRepository);
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.disasterrelief.core.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size- and TTL-bounded LRU cache of aggregate state, keyed by aggregate id.
+ * Entries carry the version they were built at, so callers can append with it as the expected version and
+ * fall back to the event store when another writer got there first. Cached state must be immutable.
+ */
+public class AggregateCache<S> {
+
+    public record Entry<S>(S state, long version, Instant cachedAt) {
+    }
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final LinkedHashMap<UUID, Entry<S>> entries;
+
+    public AggregateCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive");
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry<S>> eldest) {
+                if (size() > AggregateCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<Entry<S>> get(UUID aggregateId) {
+        Entry<S> entry = entries.get(aggregateId);
+        if (entry != null && isExpired(entry)) {
+            entries.remove(aggregateId);
+            evictions.incrementAndGet();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Caches the state at {@code version}, unless a newer version is already cached.
+     */
+    public synchronized void put(UUID aggregateId, S state, long version) {
+        Entry<S> existing = entries.get(aggregateId);
+        if (existing == null || existing.version() <= version) {
+            entries.put(aggregateId, new Entry<>(state, version, clock.instant()));
+        }
+    }
+
+    public synchronized void invalidate(UUID aggregateId) {
+        entries.remove(aggregateId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Publishes hit/miss/eviction counters and the current size, tagged with {@code cache=name}.
+     */
+    public AggregateCache<S> bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("aggregate.cache.hits", this, AggregateCache::hits).tag("cache", name).register(registry);
+        FunctionCounter.builder("aggregate.cache.misses", this, AggregateCache::misses).tag("cache", name).register(registry);
+        FunctionCounter.builder("aggregate.cache.evictions", this, AggregateCache::evictions).tag("cache", name).register(registry);
+        Gauge.builder("aggregate.cache.size", this, AggregateCache::size).tag("cache", name).register(registry);
+        return this;
+    }
+
+    private boolean isExpired(Entry<S> entry) {
+        return entry.cachedAt().plus(ttl).isBefore(clock.instant());
+    }
+}
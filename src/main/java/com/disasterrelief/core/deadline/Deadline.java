@@ -0,0 +1,9 @@
+package com.disasterrelief.core.deadline;
+
+import java.time.Instant;
+
+/**
+ * A key's deadline as read from a {@link DeadlineSource}.
+ */
+public record Deadline<K>(K key, Instant at) {
+}
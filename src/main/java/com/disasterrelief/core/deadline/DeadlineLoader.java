@@ -0,0 +1,73 @@
+package com.disasterrelief.core.deadline;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Pages stored deadlines into a {@link DeadlineScheduler} a window ahead of the clock, so that startup reads
+ * only the deadlines due within {@code window}, however many are pending further out and however long the
+ * history behind them. Later deadlines are read as the window moves on: each {@link #load()} reads those that
+ * came into the window since the previous one, continuing from the last deadline read.
+ *
+ * <p>Deadlines written while running, into the part of the window already read, are not read again; whoever
+ * writes them schedules them directly, as {@code SagaManager} does. Thread-safe.
+ */
+public class DeadlineLoader<K> {
+
+    private final DeadlineScheduler<K> scheduler;
+    private final DeadlineSource<K> source;
+    private final Clock clock;
+    private final Duration window;
+    private final int pageSize;
+    private Deadline<K> cursor;
+    private Instant loadedUntil;
+
+    public DeadlineLoader(DeadlineScheduler<K> scheduler,
+                          DeadlineSource<K> source,
+                          Clock clock,
+                          Duration window,
+                          int pageSize) {
+        if (window == null || window.isNegative() || window.isZero())
+            throw new IllegalArgumentException("window must be positive");
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive");
+        this.scheduler = scheduler;
+        this.source = source;
+        this.clock = clock;
+        this.window = window;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Schedules the stored deadlines due within the window that have not been read yet. Call once on startup
+     * and then periodically; reads nothing until half the window has passed since the previous load.
+     *
+     * @return the number of deadlines scheduled
+     */
+    public synchronized int load() {
+        Instant now = clock.instant();
+        if (loadedUntil != null && now.plus(window.dividedBy(2)).isBefore(loadedUntil)) return 0;
+
+        Instant until = now.plus(window);
+        int loaded = 0;
+        List<Deadline<K>> page;
+        do {
+            page = source.findDue(cursor, until, pageSize);
+            for (Deadline<K> deadline : page) {
+                scheduler.schedule(deadline.key(), deadline.at());
+            }
+            if (!page.isEmpty()) cursor = page.getLast();
+            loaded += page.size();
+        } while (page.size() == pageSize);
+        loadedUntil = until;
+        return loaded;
+    }
+
+    /**
+     * How far ahead deadlines have been read, or null before the first load.
+     */
+    public synchronized Instant loadedUntil() {
+        return loadedUntil;
+    }
+}
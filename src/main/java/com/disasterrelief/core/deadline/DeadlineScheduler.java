@@ -0,0 +1,121 @@
+package com.disasterrelief.core.deadline;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Keyed deadlines on a hierarchical {@link TimingWheel}, driven by a {@link Clock}. Scheduling, rescheduling and
+ * cancelling a deadline cost O(1) regardless of how many are pending, so one scheduler can hold a deadline per
+ * open saga where a timer task each would not scale. Nothing fires on its own: the owner calls
+ * {@link #expire(Consumer)} periodically, e.g. once per tick, and gets the keys whose deadline has passed.
+ *
+ * <p>Deadlines are rounded up to the tick, so a key never expires before its deadline and at most one tick
+ * after it, plus however late {@code expire} is called. Thread-safe.
+ */
+public class DeadlineScheduler<K> {
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final Map<K, TimingWheel.Timeout<K>> timeouts = new HashMap<>();
+    private final TimingWheel<K> wheel;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public DeadlineScheduler(Clock clock, Duration tick) {
+        if (clock == null) throw new IllegalArgumentException("clock must not be null");
+        if (tick == null || tick.toMillis() <= 0) throw new IllegalArgumentException("tick must be at least 1ms");
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+        this.wheel = new TimingWheel<>(Math.floorDiv(clock.millis(), tickMillis));
+    }
+
+    /**
+     * Sets the deadline of {@code key}, replacing any it already has. A deadline already passed expires on the
+     * next {@link #expire(Consumer)}.
+     */
+    public void schedule(K key, Instant deadline) {
+        if (key == null) throw new IllegalArgumentException("key must not be null");
+        if (deadline == null) throw new IllegalArgumentException("deadline must not be null");
+        TimingWheel.Timeout<K> timeout = new TimingWheel.Timeout<>(key, deadlineTick(deadline));
+        lock.lock();
+        try {
+            TimingWheel.Timeout<K> previous = timeouts.put(key, timeout);
+            if (previous != null) wheel.cancel(previous);
+            wheel.add(timeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the deadline of {@code key}.
+     *
+     * @return whether {@code key} had one
+     */
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            TimingWheel.Timeout<K> timeout = timeouts.remove(key);
+            if (timeout == null) return false;
+            wheel.cancel(timeout);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isScheduled(K key) {
+        lock.lock();
+        try {
+            return timeouts.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return timeouts.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances to the clock's current time and removes every deadline that has passed, then hands their keys
+     * to {@code action} outside the lock, so that the action may schedule or cancel deadlines itself.
+     *
+     * @return the number of expired keys
+     */
+    public int expire(Consumer<K> action) {
+        List<K> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advanceTo(Math.floorDiv(clock.millis(), tickMillis), timeout -> {
+                timeouts.remove(timeout.key);
+                expired.add(timeout.key);
+            });
+        } finally {
+            lock.unlock();
+        }
+        expired.forEach(action);
+        return expired.size();
+    }
+
+    private long deadlineTick(Instant deadline) {
+        long millis;
+        try {
+            millis = deadline.toEpochMilli();
+        } catch (ArithmeticException e) {
+            millis = deadline.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return Math.ceilDiv(millis, tickMillis);
+    }
+}
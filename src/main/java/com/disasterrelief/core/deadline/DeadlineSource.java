@@ -0,0 +1,16 @@
+package com.disasterrelief.core.deadline;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Durably stored deadlines, read in pages by {@link DeadlineLoader}.
+ */
+public interface DeadlineSource<K> {
+
+    /**
+     * Up to {@code limit} deadlines due no later than {@code until}, ordered by time and then key, starting
+     * after {@code after}, or from the earliest if it is null.
+     */
+    List<Deadline<K>> findDue(Deadline<K> after, Instant until, int limit);
+}
@@ -0,0 +1,171 @@
+package com.disasterrelief.core.deadline;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: eight levels of 256 slots, level {@code n} covering {@code 256^n} ticks per slot,
+ * which together span every non-negative {@code long} tick. A timeout sits in the level of the highest base-256
+ * digit in which its deadline differs from the current tick; when the current tick reaches a slot boundary, that
+ * slot's timeouts move down a level, so each timeout is touched at most once per level. Slots are doubly-linked
+ * lists, which makes adding and cancelling a timeout O(1).
+ *
+ * <p>Not thread-safe; {@link DeadlineScheduler} guards it.
+ */
+final class TimingWheel<K> {
+
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = Long.SIZE / BITS;
+
+    static final class Timeout<K> {
+        final K key;
+        final long deadlineTick;
+        private Slot<K> slot;
+        private Timeout<K> prev;
+        private Timeout<K> next;
+
+        Timeout(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private static final class Slot<K> {
+        final int level;
+        Timeout<K> head;
+
+        Slot(int level) {
+            this.level = level;
+        }
+
+        void add(Timeout<K> timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) head.prev = timeout;
+            head = timeout;
+        }
+
+        void remove(Timeout<K> timeout) {
+            if (timeout.prev != null) timeout.prev.next = timeout.next;
+            else head = timeout.next;
+            if (timeout.next != null) timeout.next.prev = timeout.prev;
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<K> takeAll() {
+            Timeout<K> all = head;
+            head = null;
+            return all;
+        }
+    }
+
+    private final Slot<K>[][] wheels;
+    private final int[] counts = new int[LEVELS];
+    /** Timeouts at or before the current tick, waiting for the next {@link #advanceTo}. */
+    private final Slot<K> due = new Slot<>(-1);
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.wheels = new Slot[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new Slot<>(level);
+            }
+        }
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    void add(Timeout<K> timeout) {
+        if (timeout.deadlineTick <= currentTick) {
+            due.add(timeout);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(timeout.deadlineTick ^ currentTick)) / BITS;
+        int slot = (int) (timeout.deadlineTick >>> (level * BITS)) & MASK;
+        wheels[level][slot].add(timeout);
+        counts[level]++;
+    }
+
+    void cancel(Timeout<K> timeout) {
+        Slot<K> slot = timeout.slot;
+        if (slot == null) return;
+        if (slot.level >= 0) counts[slot.level]--;
+        slot.remove(timeout);
+    }
+
+    /**
+     * Moves the wheel forward to {@code tick}, handing every timeout whose deadline tick has been reached to
+     * {@code expired}. Stretches without any timeout in the lower levels are skipped rather than stepped through.
+     */
+    void advanceTo(long tick, Consumer<Timeout<K>> expired) {
+        while (currentTick < tick) {
+            int lowest = lowestOccupiedLevel();
+            if (lowest < 0) {
+                currentTick = tick;
+                break;
+            }
+            if (lowest > 0) {
+                // Nothing can expire before the next boundary of the lowest occupied level.
+                long span = 1L << (lowest * BITS);
+                long beforeBoundary = (currentTick | (span - 1));
+                if (beforeBoundary > currentTick) {
+                    currentTick = Math.min(beforeBoundary, tick);
+                    continue;
+                }
+            }
+            currentTick++;
+            cascade();
+            drain(wheels[0][(int) currentTick & MASK], expired);
+        }
+        drain(due, expired);
+    }
+
+    private int lowestOccupiedLevel() {
+        for (int level = 0; level < LEVELS; level++) {
+            if (counts[level] > 0) return level;
+        }
+        return -1;
+    }
+
+    /**
+     * At a boundary of level {@code n}, re-files the level's current slot one or more levels down, highest
+     * level first so that timeouts cascade all the way within a single tick.
+     */
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < LEVELS && (currentTick & ((1L << ((top + 1) * BITS)) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level > 0; level--) {
+            Slot<K> slot = wheels[level][(int) (currentTick >>> (level * BITS)) & MASK];
+            for (Timeout<K> timeout = slot.takeAll(); timeout != null; ) {
+                Timeout<K> next = timeout.next;
+                counts[level]--;
+                timeout.slot = null;
+                add(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void drain(Slot<K> slot, Consumer<Timeout<K>> expired) {
+        for (Timeout<K> timeout = slot.takeAll(); timeout != null; ) {
+            Timeout<K> next = timeout.next;
+            if (slot.level >= 0) counts[slot.level]--;
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+            expired.accept(timeout);
+            timeout = next;
+        }
+    }
+}
@@ -24,5 +24,20 @@ public interface DomainEvent {
     default String type() {
         return this.getClass().getSimpleName();
     }
+
+    /**
+     * Team the event concerns, if any. Stored as a column beside the payload so that consumers can route and
+     * filter on it without decoding the event.
+     */
+    default UUID teamId() {
+        return null;
+    }
+
+    /**
+     * Team member the event concerns, if any. Stored as a column like {@link #teamId()}.
+     */
+    default UUID memberId() {
+        return null;
+    }
 }
 
@@ -0,0 +1,91 @@
+package com.disasterrelief.core.event;
+
+import com.disasterrelief.util.EventSerializationUtil;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps event classes to the short, stable codes stored with each event, and codes back to a deserializer
+ * prepared for the class. Codes are part of the stored format: once events have been written under a code it
+ * must keep naming the same class, even if that class is renamed or moved.
+ *
+ * <p>Classes that were never registered are stored under their class name. Such names (including those
+ * written before codes existed) still resolve; each is looked up once and then cached like a registered code.
+ */
+public class EventTypeRegistry {
+
+    private record EventType(String code, Class<? extends DomainEvent> type, ObjectReader reader) {
+    }
+
+    private final Map<Class<?>, String> codes = new ConcurrentHashMap<>();
+    private final Map<String, EventType> types = new ConcurrentHashMap<>();
+
+    /**
+     * Registrations are checked against both directions before either is stored, so a rejected one leaves the
+     * registry unchanged.
+     *
+     * @throws IllegalArgumentException if the code or the class is already registered to something else
+     */
+    public synchronized EventTypeRegistry register(String code, Class<? extends DomainEvent> type) {
+        if (code == null || code.isBlank()) throw new IllegalArgumentException("code must not be blank");
+        EventType existing = types.get(code);
+        if (existing != null && existing.type() != type) {
+            throw new IllegalArgumentException("Code " + code + " is already registered to " + existing.type().getName());
+        }
+        String existingCode = codes.get(type);
+        if (existingCode != null && !existingCode.equals(code)) {
+            throw new IllegalArgumentException(type.getName() + " is already registered as " + existingCode);
+        }
+        types.putIfAbsent(code, new EventType(code, type, EventSerializationUtil.readerFor(type)));
+        codes.putIfAbsent(type, code);
+        return this;
+    }
+
+    /**
+     * The code to store with an event of this class.
+     */
+    public String codeOf(Class<? extends DomainEvent> type) {
+        String code = codes.get(type);
+        return code != null ? code : type.getName();
+    }
+
+    public Class<? extends DomainEvent> typeOf(String code) {
+        return resolve(code).type();
+    }
+
+    public DomainEvent deserialize(String code, String json) {
+        try {
+            return resolve(code).reader().readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize event: " + code, e);
+        }
+    }
+
+    public DomainEvent deserialize(String code, byte[] json) {
+        try {
+            return resolve(code).reader().readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize event: " + code, e);
+        }
+    }
+
+    private EventType resolve(String code) {
+        EventType type = types.get(code);
+        return type != null ? type : types.computeIfAbsent(code, EventTypeRegistry::byClassName);
+    }
+
+    private static EventType byClassName(String className) {
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown event type: " + className, e);
+        }
+        if (!DomainEvent.class.isAssignableFrom(clazz)) {
+            throw new IllegalArgumentException(className + " is not a DomainEvent");
+        }
+        return new EventType(className, clazz.asSubclass(DomainEvent.class), EventSerializationUtil.readerFor(clazz));
+    }
+}
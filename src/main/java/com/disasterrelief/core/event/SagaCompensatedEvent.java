@@ -4,16 +4,7 @@ package com.disasterrelief.core.event;
 import java.time.Instant;
 import java.util.UUID;
 
-public class SagaCompensatedEvent implements DomainEvent {
-    private final UUID commandId;
-    private final Instant compensatedAt;
-    private final String reason;
-
-    public SagaCompensatedEvent(UUID commandId, Instant compensatedAt, String reason) {
-        this.commandId = commandId;
-        this.compensatedAt = compensatedAt;
-        this.reason = reason;
-    }
+public record SagaCompensatedEvent(UUID commandId, Instant compensatedAt, String reason) implements DomainEvent {
 
     @Override
     public UUID aggregateId() {
@@ -24,8 +15,4 @@ public class SagaCompensatedEvent implements DomainEvent {
     public Instant occurredAt() {
         return compensatedAt;
     }
-
-    public String getReason() {
-        return reason;
-    }
 }
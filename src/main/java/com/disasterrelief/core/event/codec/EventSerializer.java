@@ -0,0 +1,27 @@
+package com.disasterrelief.core.event.codec;
+
+import com.disasterrelief.core.event.DomainEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes events to bytes and back. The {@link #id()} is stored with every event so that a store written with
+ * several codecs over time stays readable; it must never change once events have been written with it.
+ */
+public interface EventSerializer {
+
+    String id();
+
+    byte[] serialize(DomainEvent event);
+
+    DomainEvent deserialize(byte[] data, Class<? extends DomainEvent> type);
+
+    /**
+     * Reads the buffer's remaining bytes without moving its position.
+     */
+    default DomainEvent deserialize(ByteBuffer data, Class<? extends DomainEvent> type) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(data.position(), bytes);
+        return deserialize(bytes, type);
+    }
+}
@@ -0,0 +1,41 @@
+package com.disasterrelief.core.event.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The codecs a store can read, by id, and the one it writes new events with.
+ */
+public class EventSerializers {
+
+    private final Map<String, EventSerializer> byId = new HashMap<>();
+    private final EventSerializer writer;
+
+    public EventSerializers(String writerId, List<EventSerializer> serializers) {
+        for (EventSerializer serializer : serializers) {
+            if (byId.putIfAbsent(serializer.id(), serializer) != null) {
+                throw new IllegalArgumentException("Duplicate codec id: " + serializer.id());
+            }
+        }
+        this.writer = get(writerId);
+    }
+
+    /**
+     * JSON, Smile and CBOR, writing with {@code writerId}.
+     */
+    public static EventSerializers jackson(String writerId) {
+        return new EventSerializers(writerId, List.of(
+                JacksonEventSerializer.json(), JacksonEventSerializer.smile(), JacksonEventSerializer.cbor()));
+    }
+
+    public EventSerializer writer() {
+        return writer;
+    }
+
+    public EventSerializer get(String id) {
+        EventSerializer serializer = byId.get(id);
+        if (serializer == null) throw new IllegalArgumentException("Unknown event codec: " + id);
+        return serializer;
+    }
+}
@@ -0,0 +1,100 @@
+package com.disasterrelief.core.event.codec;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.util.EventSerializationModule;
+import com.disasterrelief.util.EventSerializationUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Jackson data binding over a JSON, Smile or CBOR factory. All three map events the same way as
+ * {@code EventSerializationUtil}; the binary formats drop the text encoding of numbers and timestamps and, for
+ * Smile, repeat field names by back-reference. Readers and writers are resolved once per event class and
+ * output is encoded into {@link EventSerializationUtil}'s per-thread buffer.
+ */
+public class JacksonEventSerializer implements EventSerializer {
+
+    public static final String JSON = "json";
+    public static final String SMILE = "smile";
+    public static final String CBOR = "cbor";
+
+    private final String id;
+    private final ClassValue<ObjectWriter> writers;
+    private final ClassValue<ObjectReader> readers;
+
+    public JacksonEventSerializer(String id, JsonFactory factory) {
+        ObjectMapper mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new EventSerializationModule())
+                .registerModule(new BlackbirdModule());
+        this.id = id;
+        this.writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return mapper.writerFor(type);
+            }
+        };
+        this.readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return mapper.readerFor(type);
+            }
+        };
+    }
+
+    public static JacksonEventSerializer json() {
+        return new JacksonEventSerializer(JSON, new JsonFactory());
+    }
+
+    public static JacksonEventSerializer smile() {
+        return new JacksonEventSerializer(SMILE, new SmileFactory());
+    }
+
+    public static JacksonEventSerializer cbor() {
+        return new JacksonEventSerializer(CBOR, new CBORFactory());
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public byte[] serialize(DomainEvent event) {
+        return EventSerializationUtil.writeToBytes(writers.get(event.getClass()), event);
+    }
+
+    @Override
+    public DomainEvent deserialize(byte[] data, Class<? extends DomainEvent> type) {
+        try {
+            return readers.get(type).readValue(data);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize " + id + " event: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Parses heap buffers in place and direct (e.g. memory-mapped) buffers as a stream, never copying them.
+     */
+    @Override
+    public DomainEvent deserialize(ByteBuffer data, Class<? extends DomainEvent> type) {
+        try {
+            ObjectReader reader = readers.get(type);
+            if (data.hasArray()) {
+                return reader.readValue(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            }
+            return reader.readValue(new ByteBufferBackedInputStream(data.duplicate()));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize " + id + " event: " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.disasterrelief.core.eventstore;
+
+import com.disasterrelief.core.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Called by {@link JpaEventStore}, and by the saga's {@code DatabasePersistedEventRepository}, inside the append
+ * transaction, after the events have been written. Whatever a listener writes commits or rolls back together
+ * with the events; an exception rolls the append back.
+ */
+public interface AppendListener {
+
+    /**
+     * @param rows   the stored events, in append order
+     * @param events the appended events, in the same order as {@code rows}
+     */
+    void onAppend(List<PersistedEvent> rows, List<DomainEvent> events);
+}
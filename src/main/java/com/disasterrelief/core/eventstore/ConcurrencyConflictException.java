@@ -0,0 +1,24 @@
+package com.disasterrelief.core.eventstore;
+
+import java.util.UUID;
+
+/**
+ * Thrown when an append does not match the aggregate's current version,
+ * i.e. another writer appended to the same aggregate in the meantime.
+ */
+public class ConcurrencyConflictException extends RuntimeException {
+
+    private final UUID aggregateId;
+
+    public ConcurrencyConflictException(UUID aggregateId, long expectedVersion, long actualVersion) {
+        super("Aggregate " + aggregateId + " is at version " + actualVersion + ", expected " + expectedVersion);
+        this.aggregateId = aggregateId;
+    }
+
+    /**
+     * The conflicting aggregate.
+     */
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+}
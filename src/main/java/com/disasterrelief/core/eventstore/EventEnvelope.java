@@ -0,0 +1,103 @@
+package com.disasterrelief.core.eventstore;
+
+import com.disasterrelief.core.event.DomainEvent;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A stored event's header fields, read from their own columns, with the payload decoded only when
+ * {@link #event()} is first called. Consumers can route and filter on the header and skip the payload of events
+ * they do not need. Not thread-safe; an envelope is meant to be consumed by one reader.
+ */
+public final class EventEnvelope {
+
+    private final long position;
+    private final UUID aggregateId;
+    private final long version;
+    private final Class<? extends DomainEvent> eventType;
+    private final UUID teamId;
+    private final UUID memberId;
+    private Supplier<? extends DomainEvent> decoder;
+    private DomainEvent event;
+
+    public EventEnvelope(long position,
+                         UUID aggregateId,
+                         long version,
+                         Class<? extends DomainEvent> eventType,
+                         UUID teamId,
+                         UUID memberId,
+                         Supplier<? extends DomainEvent> decoder) {
+        this.position = position;
+        this.aggregateId = aggregateId;
+        this.version = version;
+        this.eventType = eventType;
+        this.teamId = teamId;
+        this.memberId = memberId;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Wraps an event that is already decoded, for stores that keep no separate header.
+     */
+    public static EventEnvelope of(RecordedEvent recorded) {
+        DomainEvent event = recorded.event();
+        EventEnvelope envelope = new EventEnvelope(recorded.position(), event.aggregateId(), 0, event.getClass(),
+                event.teamId(), event.memberId(), null);
+        envelope.event = event;
+        return envelope;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public UUID aggregateId() {
+        return aggregateId;
+    }
+
+    /**
+     * Version of the event within its aggregate, or 0 if the store does not report it.
+     */
+    public long version() {
+        return version;
+    }
+
+    public Class<? extends DomainEvent> eventType() {
+        return eventType;
+    }
+
+    public UUID teamId() {
+        return teamId;
+    }
+
+    public UUID memberId() {
+        return memberId;
+    }
+
+    /**
+     * Whether the event is a {@code type}, answered from the header.
+     */
+    public boolean is(Class<?> type) {
+        return type.isAssignableFrom(eventType);
+    }
+
+    /**
+     * The decoded event; the payload is decoded on the first call.
+     */
+    public DomainEvent event() {
+        if (event == null) {
+            event = decoder.get();
+            decoder = null;
+        }
+        return event;
+    }
+
+    public boolean isDecoded() {
+        return event != null;
+    }
+
+    public RecordedEvent toRecordedEvent() {
+        return new RecordedEvent(position, event());
+    }
+}
@@ -3,10 +3,77 @@ package com.disasterrelief.core.eventstore;
 import com.disasterrelief.core.event.DomainEvent;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 public interface EventStore {
     void append(DomainEvent event);
+
+    /**
+     * Appends all events in a single transaction, in the given order.
+     * Implementations should write the batch in as few round trips as possible.
+     */
+    void appendAll(List<DomainEvent> events);
+
+    /**
+     * Appends events of a single aggregate, provided the aggregate is still at {@code expectedVersion}
+     * (0 for a new aggregate).
+     *
+     * @throws ConcurrencyConflictException if another writer appended to the aggregate first
+     */
+    void append(List<DomainEvent> events, long expectedVersion);
+
+    /**
+     * Loads every event into memory. Prefer {@link #streamAll()} for anything but small stores.
+     */
     List<DomainEvent> readAll();
+
+    /**
+     * Streams every event in append order, reading the store page by page so memory use stays constant.
+     * The stream is lazy; consume it (or close it) before the store changes underneath a long replay.
+     */
+    Stream<DomainEvent> streamAll();
+
+    /**
+     * Events of one aggregate, ordered by version.
+     */
     List<DomainEvent> readByAggregateId(UUID aggregateId);
 
+    /**
+     * Events of one aggregate with a version greater than {@code afterVersion}, ordered by version.
+     * Used to replay only the tail on top of a snapshot.
+     */
+    List<DomainEvent> readByAggregateId(UUID aggregateId, long afterVersion);
+
+    /**
+     * Up to {@code maxCount} events with a global position greater than {@code position}, in position order.
+     * Positions are gap-aware: the read stops before a gap that an in-flight transaction may still fill, so a
+     * consumer that checkpoints the last returned position never skips an event.
+     */
+    List<RecordedEvent> readFrom(long position, int maxCount);
+
+    /**
+     * A position at or below which every event is visible and no in-flight append can add one any more, so that
+     * a consumer that needs only what is recorded from now on can start {@link #readFrom(long, int)} here rather
+     * than at 0. It may trail the newest events, which such a consumer then reads again.
+     */
+    long settledPosition();
+
+    /**
+     * {@link #readFrom(long, int)} as envelopes. Stores that keep header columns return envelopes that decode
+     * the payload only on demand; the default wraps the decoded events.
+     */
+    default List<EventEnvelope> readEnvelopesFrom(long position, int maxCount) {
+        return readFrom(position, maxCount).stream().map(EventEnvelope::of).toList();
+    }
+
+    /**
+     * {@link #streamAll()} as envelopes, so that a scan decodes only the events it looks into.
+     */
+    default Stream<EventEnvelope> streamEnvelopes() {
+        int pageSize = 500;
+        return Stream.iterate(readEnvelopesFrom(0, pageSize), page -> !page.isEmpty(),
+                        page -> readEnvelopesFrom(page.getLast().position(), pageSize))
+                .flatMap(List::stream);
+    }
+
 }
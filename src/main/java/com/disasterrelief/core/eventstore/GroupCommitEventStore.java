@@ -0,0 +1,302 @@
+package com.disasterrelief.core.eventstore;
+
+import com.disasterrelief.core.event.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Coalesces appends from many threads into shared transactions. Appends wait in a bounded queue; a single
+ * writer thread takes up to {@code batchSize} of them, or whatever arrived within {@code linger} of the first,
+ * and commits them together. Each caller's future completes once the transaction holding its events has
+ * committed, so callers trade up to one linger period of latency for far fewer commits.
+ *
+ * <p>An append whose expected version no longer matches fails on its own with a
+ * {@link ConcurrencyConflictException}; the rest of the batch still commits. Any other failure rolls the batch
+ * back, after which its appends are retried one transaction each so that one bad append cannot fail the others.
+ * The synchronous appends give up after {@code appendTimeout}. Reads go straight to the delegate.
+ */
+@Slf4j
+public class GroupCommitEventStore implements EventStore, Closeable {
+
+    private static final long UNCONDITIONAL = -1;
+
+    private record PendingAppend(List<DomainEvent> events, long expectedVersion, long enqueuedAt,
+                                 CompletableFuture<Void> result) {
+    }
+
+    private final EventStore delegate;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long appendTimeoutNanos;
+    private final BlockingQueue<PendingAppend> queue;
+    private final Thread writer;
+    private final Timer latency;
+    private final DistributionSummary batchSizes;
+    private final Counter committedEvents;
+    private volatile boolean closed;
+
+    public GroupCommitEventStore(EventStore delegate,
+                                 PlatformTransactionManager transactionManager,
+                                 int batchSize,
+                                 Duration linger,
+                                 int queueCapacity,
+                                 Duration appendTimeout,
+                                 MeterRegistry meterRegistry) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        if (queueCapacity < batchSize) throw new IllegalArgumentException("queueCapacity must be at least batchSize");
+        this.delegate = delegate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.appendTimeoutNanos = appendTimeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.latency = Timer.builder("eventstore.group-commit.latency")
+                .description("Time from enqueueing an append until its batch committed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("eventstore.group-commit.batch.size")
+                .description("Appends committed per transaction")
+                .register(meterRegistry);
+        this.committedEvents = Counter.builder("eventstore.group-commit.events")
+                .description("Events committed through group commit")
+                .register(meterRegistry);
+        Gauge.builder("eventstore.group-commit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("event-store-group-commit").daemon().start(this::run);
+    }
+
+    /**
+     * Queues the events of one aggregate for the next batch, to be appended if the aggregate is still at
+     * {@code expectedVersion}. Blocks while the queue is full.
+     */
+    public CompletableFuture<Void> appendAsync(List<DomainEvent> events, long expectedVersion) {
+        if (expectedVersion < 0) throw new IllegalArgumentException("expectedVersion must not be negative");
+        return enqueue(events, expectedVersion);
+    }
+
+    /**
+     * Queues events for the next batch, appended after whatever each aggregate holds by then.
+     */
+    public CompletableFuture<Void> appendAllAsync(List<DomainEvent> events) {
+        return enqueue(events, UNCONDITIONAL);
+    }
+
+    @Override
+    public void append(DomainEvent event) {
+        await(appendAllAsync(List.of(event)));
+    }
+
+    @Override
+    public void appendAll(List<DomainEvent> events) {
+        await(appendAllAsync(events));
+    }
+
+    @Override
+    public void append(List<DomainEvent> events, long expectedVersion) {
+        await(appendAsync(events, expectedVersion));
+    }
+
+    @Override
+    public List<DomainEvent> readAll() {
+        return delegate.readAll();
+    }
+
+    @Override
+    public Stream<DomainEvent> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<DomainEvent> readByAggregateId(UUID aggregateId) {
+        return delegate.readByAggregateId(aggregateId);
+    }
+
+    @Override
+    public List<DomainEvent> readByAggregateId(UUID aggregateId, long afterVersion) {
+        return delegate.readByAggregateId(aggregateId, afterVersion);
+    }
+
+    @Override
+    public List<RecordedEvent> readFrom(long position, int maxCount) {
+        return delegate.readFrom(position, maxCount);
+    }
+
+    @Override
+    public List<EventEnvelope> readEnvelopesFrom(long position, int maxCount) {
+        return delegate.readEnvelopesFrom(position, maxCount);
+    }
+
+    @Override
+    public Stream<EventEnvelope> streamEnvelopes() {
+        return delegate.streamEnvelopes();
+    }
+
+    @Override
+    public long settledPosition() {
+        return delegate.settledPosition();
+    }
+
+    /**
+     * Stops accepting appends and returns once everything already queued has been committed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (PendingAppend append; (append = queue.poll()) != null; ) {
+            append.result().completeExceptionally(new IllegalStateException("Event store is closed"));
+        }
+    }
+
+    /**
+     * An append queued while {@link #close()} runs may land after the writer has exited and the queue has been
+     * drained. Closing is therefore checked again once the append is queued: whoever removes it from the queue
+     * first, this method, the writer or {@code close()}, completes its future.
+     */
+    private CompletableFuture<Void> enqueue(List<DomainEvent> events, long expectedVersion) {
+        if (events == null || events.isEmpty()) return CompletableFuture.completedFuture(null);
+        if (closed) throw new IllegalStateException("Event store is closed");
+
+        PendingAppend append = new PendingAppend(List.copyOf(events), expectedVersion, System.nanoTime(),
+                new CompletableFuture<>());
+        try {
+            queue.put(append);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for queue space", e);
+        }
+        if (closed && queue.remove(append)) {
+            throw new IllegalStateException("Event store is closed");
+        }
+        return append.result();
+    }
+
+    /**
+     * Waits for the append to commit. On timeout the append stays queued and may still commit later.
+     */
+    private void await(CompletableFuture<Void> result) {
+        try {
+            result.get(appendTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Append not committed within "
+                    + Duration.ofNanos(appendTimeoutNanos), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the append to commit", e);
+        }
+    }
+
+    private void run() {
+        List<PendingAppend> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                fill(batch, first.enqueuedAt() + lingerNanos);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit writer failed", e);
+                batch.forEach(append -> append.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<PendingAppend> batch, long lingerUntil) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+            long remaining = lingerUntil - System.nanoTime();
+            if (remaining <= 0) return;
+            PendingAppend next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingAppend> batch) {
+        Map<PendingAppend, RuntimeException> conflicts = new IdentityHashMap<>();
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (PendingAppend append : batch) {
+                    try {
+                        write(append);
+                    } catch (ConcurrencyConflictException e) {
+                        conflicts.put(append, e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} appends failed, retrying them one by one", batch.size(), e);
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        batchSizes.record(batch.size());
+        for (PendingAppend append : batch) {
+            RuntimeException conflict = conflicts.get(append);
+            if (conflict != null) {
+                append.result().completeExceptionally(conflict);
+            } else {
+                complete(append);
+            }
+        }
+    }
+
+    private void commitAlone(PendingAppend append) {
+        try {
+            transaction.executeWithoutResult(status -> write(append));
+        } catch (RuntimeException e) {
+            append.result().completeExceptionally(e);
+            return;
+        }
+        batchSizes.record(1);
+        complete(append);
+    }
+
+    private void write(PendingAppend append) {
+        if (append.expectedVersion() == UNCONDITIONAL) {
+            delegate.appendAll(append.events());
+        } else {
+            delegate.append(append.events(), append.expectedVersion());
+        }
+    }
+
+    private void complete(PendingAppend append) {
+        committedEvents.increment(append.events().size());
+        latency.record(System.nanoTime() - append.enqueuedAt(), TimeUnit.NANOSECONDS);
+        append.result().complete(null);
+    }
+}
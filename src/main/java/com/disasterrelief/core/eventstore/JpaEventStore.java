@@ -2,62 +2,297 @@ package com.disasterrelief.core.eventstore;
 
 import com.disasterrelief.commandcenter.persistence.JpaPersistedEventRepository;
 import com.disasterrelief.core.event.DomainEvent;
-import com.disasterrelief.util.EventSerializationUtil;
+import com.disasterrelief.core.event.EventTypeRegistry;
+import com.disasterrelief.core.event.codec.EventSerializers;
+import com.disasterrelief.core.id.IdGenerator;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
 public class JpaEventStore implements EventStore {
 
     private final JpaPersistedEventRepository repository;
     private final Clock clock;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+    private final Limit pageSize;
+    private final Duration gapTimeout;
+    private final PayloadStorage payloadStorage;
+    private final EventTypeRegistry eventTypes;
+    private final EventSerializers serializers;
+    private final IdGenerator ids;
+    private final List<AppendListener> listeners;
 
-    public JpaEventStore(JpaPersistedEventRepository repository, Clock clock) {
+    public JpaEventStore(JpaPersistedEventRepository repository,
+                         EventTypeRegistry eventTypes,
+                         EventSerializers serializers,
+                         IdGenerator ids,
+                         ObjectProvider<AppendListener> listeners,
+                         Clock clock,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${eventstore.read.page-size:500}") int pageSize,
+                         @Value("${eventstore.read.gap-timeout:5s}") Duration gapTimeout,
+                         @Value("${eventstore.payload.storage:JSONB}") PayloadStorage payloadStorage) {
         this.repository = repository;
+        this.eventTypes = eventTypes;
+        this.serializers = serializers;
+        this.ids = ids;
+        this.listeners = listeners.orderedStream().toList();
         this.clock = clock;
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.pageSize = Limit.of(pageSize);
+        this.gapTimeout = gapTimeout;
+        this.payloadStorage = payloadStorage;
     }
 
     @Override
+    @Transactional
     public void append(DomainEvent event) {
-        try {
-            String json = EventSerializationUtil.serialize(event);
-            PersistedEvent persistedEvent = PersistedEvent.builder()
-                    .id(UUID.randomUUID())
-                    .sagaId(event.aggregateId()) // ✅ matches your DomainEvent interface
-                    .eventType(event.getClass().getName())
-                    .eventPayload(json)
-                    .createdAt(Instant.now(clock))
-                    .build();
-            repository.save(persistedEvent);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to persist event", e);
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Persists the whole batch in one transaction. With {@code hibernate.jdbc.batch_size} set, the
+     * inserts are flushed as JDBC batches (rewritten to multi-row inserts by the PostgreSQL driver).
+     * Each aggregate's events continue from its current version; the versions are reserved with one
+     * upsert per aggregate, in id order so that concurrent batches lock stream rows in the same order.
+     */
+    @Override
+    @Transactional
+    public void appendAll(List<DomainEvent> events) {
+        if (events == null || events.isEmpty()) return;
+
+        Map<UUID, Integer> counts = new TreeMap<>();
+        for (DomainEvent event : events) {
+            counts.merge(event.aggregateId(), 1, Integer::sum);
+        }
+        Map<UUID, Long> versions = new HashMap<>();
+        counts.forEach((aggregateId, count) ->
+                versions.put(aggregateId, repository.reserveStreamVersions(aggregateId, count) - count));
+
+        Instant now = Instant.now(clock);
+        Iterator<Long> positions = reservePositions(events.size());
+        List<PersistedEvent> persistedEvents = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            long version = versions.merge(event.aggregateId(), 1L, Long::sum);
+            persistedEvents.add(toPersistedEvent(event, version, positions.next(), now));
+        }
+        save(persistedEvents, events);
+    }
+
+    /**
+     * Creates or advances the aggregate's {@code event_streams} row from the expected version in a single
+     * conditional statement; if that matches nothing another writer got there first. Nothing has been written
+     * at that point, so a conflict leaves an enclosing transaction (such as a group commit) usable.
+     */
+    @Override
+    @Transactional(noRollbackFor = ConcurrencyConflictException.class)
+    public void append(List<DomainEvent> events, long expectedVersion) {
+        if (events == null || events.isEmpty()) return;
+
+        UUID aggregateId = events.getFirst().aggregateId();
+        for (DomainEvent event : events) {
+            if (!aggregateId.equals(event.aggregateId())) {
+                throw new IllegalArgumentException("All events must belong to aggregate " + aggregateId);
+            }
         }
+
+        long newVersion = expectedVersion + events.size();
+        int updated = expectedVersion == 0
+                ? repository.createStream(aggregateId, newVersion)
+                : repository.advanceStreamVersion(aggregateId, expectedVersion, newVersion);
+        if (updated == 0) {
+            throw new ConcurrencyConflictException(aggregateId, expectedVersion,
+                    repository.findCurrentVersion(aggregateId));
+        }
+        save(toPersistedEvents(events, expectedVersion, reservePositions(events.size()), Instant.now(clock)), events);
     }
 
     @Override
     public List<DomainEvent> readAll() {
-        return repository.findAll().stream()
+        try (Stream<DomainEvent> events = streamAll()) {
+            return events.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Keyset pagination over the global position: every page is an index range scan that does not slow down
+     * with depth. Each page is read in its own short transaction and detached once mapped, so neither the stream
+     * nor a caller's transaction retains earlier pages.
+     */
+    @Override
+    public Stream<DomainEvent> streamAll() {
+        return streamEnvelopes().map(EventEnvelope::event);
+    }
+
+    /**
+     * Pages like {@link #streamAll()}; each envelope's header comes from the row's columns and its payload is
+     * decoded only if {@link EventEnvelope#event()} is called.
+     */
+    @Override
+    public Stream<EventEnvelope> streamEnvelopes() {
+        return Stream.iterate(readPage(0), page -> !page.isEmpty(), page -> readPage(page.getLast().position()))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomainEvent> readByAggregateId(UUID aggregateId) {
+        return repository.findBySagaIdOrderByVersionAsc(aggregateId).stream()
                 .map(this::toDomainEvent)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<DomainEvent> readByAggregateId(UUID aggregateId) {
-        return repository.findBySagaId(aggregateId).stream()
+    @Transactional(readOnly = true)
+    public List<DomainEvent> readByAggregateId(UUID aggregateId, long afterVersion) {
+        return repository.findBySagaIdAndVersionGreaterThanOrderByVersionAsc(aggregateId, afterVersion).stream()
                 .map(this::toDomainEvent)
                 .collect(Collectors.toList());
     }
 
-    private DomainEvent toDomainEvent(com.disasterrelief.core.eventstore.PersistedEvent persistedEvent) {
-        try {
-            Class<?> clazz = Class.forName(persistedEvent.getEventType());
-            return (DomainEvent) EventSerializationUtil.deserialize(persistedEvent.getEventPayload(), clazz);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to deserialize event: " + persistedEvent.getEventType(), e);
+    /**
+     * Events of the given type whose payload contains {@code json}, using PostgreSQL's jsonb containment
+     * ({@code @>}) and the GIN index on the payload. Events stored as {@link PayloadStorage#BYTEA} never match.
+     */
+    @Transactional(readOnly = true)
+    public List<DomainEvent> readByPayload(Class<? extends DomainEvent> eventType, String json) {
+        return repository.findByEventTypeAndPayloadContaining(eventTypes.codeOf(eventType), json).stream()
+                .map(this::toDomainEvent)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Positions are taken from a sequence before commit, so a transaction that commits later can still fill a
+     * gap below positions that are already visible. Reading stops at such a gap until it is older than the
+     * configured gap timeout, after which it is assumed to come from a rolled-back append.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecordedEvent> readFrom(long position, int maxCount) {
+        return readEnvelopesFrom(position, maxCount).stream()
+                .map(EventEnvelope::toRecordedEvent)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventEnvelope> readEnvelopesFrom(long position, int maxCount) {
+        List<PersistedEvent> rows = repository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                position, Limit.of(maxCount));
+
+        Instant settledBefore = Instant.now(clock).minus(gapTimeout);
+        List<EventEnvelope> events = new ArrayList<>(rows.size());
+        long expected = position + 1;
+        for (PersistedEvent row : rows) {
+            if (row.getGlobalPosition() != expected && row.getCreatedAt().isAfter(settledBefore)) {
+                break;
+            }
+            events.add(toEnvelope(row));
+            expected = row.getGlobalPosition() + 1;
+        }
+        return events;
+    }
+
+    /**
+     * The newest position older than the gap timeout: {@link #readEnvelopesFrom} no longer waits for a gap
+     * below it, as an append that has not committed by then is taken to have rolled back.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long settledPosition() {
+        return repository.findLastPositionCreatedBefore(Instant.now(clock).minus(gapTimeout));
+    }
+
+    private List<EventEnvelope> readPage(long afterPosition) {
+        return readTransaction.execute(status -> {
+            List<PersistedEvent> rows = repository.findByGlobalPositionGreaterThanOrderByGlobalPositionAsc(
+                    afterPosition, pageSize);
+            List<EventEnvelope> events = new ArrayList<>(rows.size());
+            for (PersistedEvent row : rows) {
+                events.add(toEnvelope(row));
+                entityManager.detach(row);
+            }
+            return events;
+        });
+    }
+
+    private void save(List<PersistedEvent> rows, List<DomainEvent> events) {
+        repository.saveAllAndFlush(rows);
+        for (AppendListener listener : listeners) {
+            listener.onAppend(rows, events);
+        }
+    }
+
+    private Iterator<Long> reservePositions(int count) {
+        List<Long> positions = new ArrayList<>(repository.nextGlobalPositions(count));
+        positions.sort(null);
+        return positions.iterator();
+    }
+
+    private List<PersistedEvent> toPersistedEvents(List<DomainEvent> events,
+                                                   long currentVersion,
+                                                   Iterator<Long> positions,
+                                                   Instant createdAt) {
+        List<PersistedEvent> persistedEvents = new ArrayList<>(events.size());
+        long version = currentVersion;
+        for (DomainEvent event : events) {
+            persistedEvents.add(toPersistedEvent(event, ++version, positions.next(), createdAt));
+        }
+        return persistedEvents;
+    }
+
+    private PersistedEvent toPersistedEvent(DomainEvent event, long version, long position, Instant createdAt) {
+        PersistedEvent persistedEvent = PersistedEvent.builder()
+                .id(ids.nextId())
+                .sagaId(event.aggregateId()) // ✅ matches your DomainEvent interface
+                .globalPosition(position)
+                .version(version)
+                .eventType(eventTypes.codeOf(event.getClass()))
+                .teamId(event.teamId())
+                .memberId(event.memberId())
+                .createdAt(createdAt)
+                .build();
+        payloadStorage.write(persistedEvent, event, serializers.writer());
+        return persistedEvent;
+    }
+
+    /**
+     * Detached rows hold their payload already, so the envelope can be decoded after the read transaction.
+     */
+    private EventEnvelope toEnvelope(PersistedEvent row) {
+        return new EventEnvelope(row.getGlobalPosition(), row.getSagaId(), row.getVersion(),
+                eventTypes.typeOf(row.getEventType()), row.getTeamId(), row.getMemberId(), () -> toDomainEvent(row));
+    }
+
+    private DomainEvent toDomainEvent(PersistedEvent persistedEvent) {
+        if (persistedEvent.getEventPayloadBytes() != null) {
+            return serializers.get(persistedEvent.getCodec())
+                    .deserialize(persistedEvent.getEventPayloadBytes(), eventTypes.typeOf(persistedEvent.getEventType()));
         }
+        return eventTypes.deserialize(persistedEvent.getEventType(), persistedEvent.getEventPayload());
     }
 }
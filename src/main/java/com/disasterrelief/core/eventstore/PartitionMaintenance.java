@@ -0,0 +1,67 @@
+package com.disasterrelief.core.eventstore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Keeps monthly {@code persisted_events} partitions created ahead of time and, if a retention is configured,
+ * detaches partitions that fell out of it. Detached partitions stay in the database as plain tables, ready to
+ * be archived and dropped; their events are no longer visible to the event store.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class PartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public PartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                Clock clock,
+                                @Value("${eventstore.partitions.months-ahead:3}") int monthsAhead,
+                                @Value("${eventstore.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${eventstore.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        jdbcTemplate.queryForList("select ensure_persisted_events_partitions(?)", monthsAhead);
+        if (retentionMonths > 0) {
+            List<String> detached = detachOlderThan(retentionMonths);
+            if (!detached.isEmpty()) {
+                log.info("Detached persisted_events partitions {}", detached);
+            }
+        }
+    }
+
+    /**
+     * Detaches every monthly partition that ends at or before the start of the month {@code months} ago.
+     */
+    public List<String> detachOlderThan(int months) {
+        ZonedDateTime cutoff = ZonedDateTime.now(clock.withZone(ZoneOffset.UTC))
+                .truncatedTo(ChronoUnit.DAYS)
+                .withDayOfMonth(1)
+                .minusMonths(months);
+        return jdbcTemplate.queryForList("select detach_persisted_events_partitions(?)", String.class,
+                Timestamp.from(cutoff.toInstant()));
+    }
+}
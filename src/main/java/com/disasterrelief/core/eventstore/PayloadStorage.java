@@ -0,0 +1,50 @@
+package com.disasterrelief.core.eventstore;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.codec.EventSerializer;
+import com.disasterrelief.core.event.codec.JacksonEventSerializer;
+import com.disasterrelief.util.EventSerializationUtil;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Column an event payload is written to. Rows of both kinds can live side by side, so the mode can be changed
+ * without migrating existing events.
+ */
+public enum PayloadStorage {
+
+    /**
+     * {@code event_payload jsonb}: parsed and indexed by PostgreSQL, so events can be filtered by content.
+     */
+    JSONB,
+
+    /**
+     * {@code event_payload_bytes bytea}: stored verbatim, for payloads the database does not need to read.
+     */
+    BYTEA;
+
+    public void write(PersistedEvent event, String json) {
+        event.setCodec(JacksonEventSerializer.JSON);
+        if (this == JSONB) {
+            event.setEventPayload(json);
+            event.setEventPayloadBytes(null);
+        } else {
+            event.setEventPayload(null);
+            event.setEventPayloadBytes(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Encodes the event with the serializer. Only JSON can go into the jsonb column, so payloads of any other
+     * codec are stored as bytea whatever the mode.
+     */
+    public void write(PersistedEvent event, DomainEvent domainEvent, EventSerializer serializer) {
+        if (this == JSONB && JacksonEventSerializer.JSON.equals(serializer.id())) {
+            write(event, EventSerializationUtil.serialize(domainEvent));
+            return;
+        }
+        event.setCodec(serializer.id());
+        event.setEventPayload(null);
+        event.setEventPayloadBytes(serializer.serialize(domainEvent));
+    }
+}
@@ -1,8 +1,13 @@
 package com.disasterrelief.core.eventstore;
 
+import com.disasterrelief.core.event.codec.JacksonEventSerializer;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -12,20 +17,97 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class PersistedEvent {
+public class PersistedEvent implements Persistable<UUID> {
 
   @Id private UUID id;
 
   @Column(nullable = false)
   private UUID sagaId;
 
+  /**
+   * Position of the event across the whole store. Drawn from {@code persisted_events_global_position_seq} at
+   * append time, so it increases in append order but may have gaps (rollbacks) and commit out of order.
+   */
+  @Column(name = "global_position", nullable = false)
+  private long globalPosition;
+
+  /**
+   * Position of the event within its aggregate, starting at 1. Uniqueness is enforced through the
+   * {@code event_streams} head row rather than a constraint, which the partitioned table cannot carry.
+   */
   @Column(nullable = false)
-  private String eventType;
+  private long version;
 
-  @Lob
   @Column(nullable = false)
+  private String eventType;
+
+  /**
+   * {@link com.disasterrelief.core.event.DomainEvent#teamId()}, promoted out of the payload for routing.
+   */
+  @Column(name = "team_id")
+  private UUID teamId;
+
+  /**
+   * {@link com.disasterrelief.core.event.DomainEvent#memberId()}, promoted out of the payload for routing.
+   */
+  @Column(name = "member_id")
+  private UUID memberId;
+
+  /**
+   * Payload as {@code jsonb}, or null when it is held in {@link #eventPayloadBytes} instead (see
+   * {@link PayloadStorage}). Either way it is an inline column, read with the row.
+   */
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(columnDefinition = "jsonb")
   private String eventPayload;
 
+  @Column(name = "event_payload_bytes")
+  @ToString.Exclude
+  private byte[] eventPayloadBytes;
+
+  /**
+   * Id of the {@code EventSerializer} that produced the payload. Always {@code json} for jsonb payloads.
+   */
+  @Column(nullable = false, length = 16)
+  @Builder.Default
+  private String codec = JacksonEventSerializer.JSON;
+
   @Column(nullable = false)
   private Instant createdAt;
+
+  /**
+   * Ids are assigned by the application, so Spring Data cannot tell new rows from existing ones.
+   * Without this flag every save would be a merge, costing a SELECT per event and defeating JDBC batching.
+   */
+  @Transient
+  @Builder.Default
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private boolean newEntity = true;
+
+  /**
+   * The payload JSON, whichever column it is stored in.
+   *
+   * @throws IllegalStateException if the payload was written with a binary codec
+   */
+  public String getEventPayload() {
+    if (eventPayload == null && eventPayloadBytes != null) {
+      if (!JacksonEventSerializer.JSON.equals(codec)) {
+        throw new IllegalStateException("Payload of event " + id + " is encoded as " + codec);
+      }
+      return new String(eventPayloadBytes, StandardCharsets.UTF_8);
+    }
+    return eventPayload;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
 }
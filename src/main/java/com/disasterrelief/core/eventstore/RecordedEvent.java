@@ -0,0 +1,9 @@
+package com.disasterrelief.core.eventstore;
+
+import com.disasterrelief.core.event.DomainEvent;
+
+/**
+ * An event together with its global position in the store, which readers keep as their checkpoint.
+ */
+public record RecordedEvent(long position, DomainEvent event) {
+}
@@ -0,0 +1,502 @@
+package com.disasterrelief.core.eventstore.file;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.EventTypeRegistry;
+import com.disasterrelief.core.eventstore.ConcurrencyConflictException;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.eventstore.RecordedEvent;
+import com.disasterrelief.util.EventSerializationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only {@link EventStore} over fixed-size, memory-mapped segment files, for deployments without a
+ * database. A single writer appends under a lock; readers never block and only see fully appended batches.
+ *
+ * <p>Record layout (big-endian): {@code int length, int crc32c, long position, long version,
+ * long aggregateIdMsb, long aggregateIdLsb, long previousPointer, byte flags, short typeLength, type,
+ * int payloadLength, payload}, where length and CRC cover everything after the CRC. The last record of every
+ * append is flagged as the end of its batch; on startup the log is truncated after the last valid, complete
+ * batch, so an append is all-or-nothing across crashes.
+ *
+ * <p>Both indexes live in memory and are rebuilt on startup: the newest record of each aggregate (every
+ * record points at the aggregate's previous one) and the record of every {@value #INDEX_INTERVAL}th global
+ * position.
+ */
+@Slf4j
+public class FileEventStore implements EventStore, Closeable {
+
+    static final int INDEX_INTERVAL = 1024;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 47;
+    private static final byte BATCH_END = 1;
+    private static final long NO_RECORD = -1;
+    private static final int STREAM_PAGE_SIZE = 1000;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final EventTypeRegistry eventTypes;
+    private final ScheduledExecutorService flusher;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<UUID, AggregateHead> heads = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Long> positionIndex = new ConcurrentSkipListMap<>();
+    private volatile long lastPosition;
+
+    private record AggregateHead(long version, long pointer) {
+    }
+
+    private record EncodedEvent(UUID aggregateId, long version, byte[] type, byte[] payload) {
+        int length() {
+            return FIXED_BODY_BYTES + type.length + payload.length;
+        }
+    }
+
+    public FileEventStore(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this(directory, segmentSize, fsyncPolicy, fsyncInterval, new EventTypeRegistry());
+    }
+
+    public FileEventStore(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                          EventTypeRegistry eventTypes) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.eventTypes = eventTypes;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event log in " + directory, e);
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "file-event-store-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = fsyncInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    @Override
+    public void append(DomainEvent event) {
+        appendAll(List.of(event));
+    }
+
+    @Override
+    public void appendAll(List<DomainEvent> events) {
+        if (events == null || events.isEmpty()) return;
+
+        writeLock.lock();
+        try {
+            Map<UUID, Long> versions = new HashMap<>();
+            List<EncodedEvent> encoded = new ArrayList<>(events.size());
+            for (DomainEvent event : events) {
+                long version = versions.merge(event.aggregateId(), currentVersion(event.aggregateId()) + 1,
+                        (previous, ignored) -> previous + 1);
+                encoded.add(encode(event, version));
+            }
+            write(encoded);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void append(List<DomainEvent> events, long expectedVersion) {
+        if (events == null || events.isEmpty()) return;
+
+        UUID aggregateId = events.getFirst().aggregateId();
+        for (DomainEvent event : events) {
+            if (!aggregateId.equals(event.aggregateId())) {
+                throw new IllegalArgumentException("All events must belong to aggregate " + aggregateId);
+            }
+        }
+
+        writeLock.lock();
+        try {
+            long currentVersion = currentVersion(aggregateId);
+            if (currentVersion != expectedVersion) {
+                throw new ConcurrencyConflictException(aggregateId, expectedVersion, currentVersion);
+            }
+            List<EncodedEvent> encoded = new ArrayList<>(events.size());
+            long version = expectedVersion;
+            for (DomainEvent event : events) {
+                encoded.add(encode(event, ++version));
+            }
+            write(encoded);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<DomainEvent> readAll() {
+        try (Stream<DomainEvent> events = streamAll()) {
+            return events.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<DomainEvent> streamAll() {
+        return Stream.iterate(readFrom(0, STREAM_PAGE_SIZE), page -> !page.isEmpty(),
+                        page -> readFrom(page.getLast().position(), STREAM_PAGE_SIZE))
+                .flatMap(page -> page.stream().map(RecordedEvent::event));
+    }
+
+    @Override
+    public List<DomainEvent> readByAggregateId(UUID aggregateId) {
+        return readByAggregateId(aggregateId, 0);
+    }
+
+    /**
+     * Walks the aggregate's back-pointers from its newest record, so only the requested tail is touched.
+     */
+    @Override
+    public List<DomainEvent> readByAggregateId(UUID aggregateId, long afterVersion) {
+        AggregateHead head = heads.get(aggregateId);
+        if (head == null) return List.of();
+
+        List<DomainEvent> events = new ArrayList<>();
+        long pointer = head.pointer();
+        while (pointer != NO_RECORD) {
+            ByteBuffer view = segments.get(segmentOf(pointer)).view();
+            int offset = offsetOf(pointer);
+            if (version(view, offset) <= afterVersion) break;
+            events.add(toDomainEvent(view, offset));
+            pointer = previous(view, offset);
+        }
+        Collections.reverse(events);
+        return events;
+    }
+
+    /**
+     * Positions are assigned under the write lock and published per batch, so there are never gaps to wait on.
+     */
+    @Override
+    public List<RecordedEvent> readFrom(long position, int maxCount) {
+        return readEnvelopesFrom(position, maxCount).stream().map(EventEnvelope::toRecordedEvent).toList();
+    }
+
+    /**
+     * Reads like {@link #readFrom}; each envelope carries its event's version, taken from the record header.
+     */
+    @Override
+    public List<EventEnvelope> readEnvelopesFrom(long position, int maxCount) {
+        long first = Math.max(position, 0) + 1;
+        long count = Math.min(maxCount, lastPosition - first + 1);
+        if (count <= 0) return List.of();
+
+        long pointer = positionIndex.floorEntry(first).getValue();
+        int segment = segmentOf(pointer);
+        int offset = offsetOf(pointer);
+        ByteBuffer view = segments.get(segment).view();
+        List<EventEnvelope> events = new ArrayList<>((int) count);
+        while (events.size() < count) {
+            if (offset + HEADER_BYTES > view.capacity() || view.getInt(offset) == 0) {
+                view = segments.get(++segment).view();
+                offset = 0;
+                continue;
+            }
+            long recordPosition = position(view, offset);
+            if (recordPosition >= first) {
+                DomainEvent event = toDomainEvent(view, offset);
+                events.add(new EventEnvelope(recordPosition, event.aggregateId(), version(view, offset),
+                        event.getClass(), event.teamId(), event.memberId(), () -> event));
+            }
+            offset += HEADER_BYTES + view.getInt(offset);
+        }
+        return events;
+    }
+
+    /**
+     * The newest position: as for {@link #readFrom}, there is no gap below it that an append could still fill.
+     */
+    @Override
+    public long settledPosition() {
+        return lastPosition;
+    }
+
+    /**
+     * Forces outstanding writes to disk. Called by the background flusher under {@link FsyncPolicy#INTERVAL}.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+            flush();
+        }
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private long currentVersion(UUID aggregateId) {
+        AggregateHead head = heads.get(aggregateId);
+        return head == null ? 0 : head.version();
+    }
+
+    private EncodedEvent encode(DomainEvent event, long version) {
+        byte[] type = eventTypes.codeOf(event.getClass()).getBytes(StandardCharsets.UTF_8);
+        byte[] payload = EventSerializationUtil.serializeToBytes(event);
+        if (HEADER_BYTES + FIXED_BODY_BYTES + type.length + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Event of " + payload.length + " bytes does not fit in a segment");
+        }
+        return new EncodedEvent(event.aggregateId(), version, type, payload);
+    }
+
+    /**
+     * Opens every segment the batch needs before writing anything, so the only failures left (forcing to disk)
+     * happen after the bytes are in place and can be undone by zeroing them. The batch becomes visible to
+     * readers only once it is fully written and, under {@link FsyncPolicy#ALWAYS}, forced.
+     */
+    private void write(List<EncodedEvent> events) {
+        Segment first = segments.getLast();
+        int firstOffset = first.writeOffset();
+        int segmentsBefore = segments.size();
+        try {
+            int remaining = first.remaining();
+            for (EncodedEvent event : events) {
+                int length = HEADER_BYTES + event.length();
+                if (length > remaining) {
+                    segments.add(Segment.open(directory, segments.size(), segmentSize));
+                    remaining = segmentSize;
+                }
+                remaining -= length;
+            }
+
+            Map<UUID, AggregateHead> written = new HashMap<>();
+            long position = lastPosition;
+            int segment = segmentsBefore - 1;
+            for (int i = 0; i < events.size(); i++) {
+                EncodedEvent event = events.get(i);
+                if (HEADER_BYTES + event.length() > segments.get(segment).remaining()) {
+                    segment++;
+                }
+                AggregateHead previous = written.getOrDefault(event.aggregateId(), heads.get(event.aggregateId()));
+                long pointer = writeRecord(segments.get(segment), event, ++position,
+                        previous == null ? NO_RECORD : previous.pointer(), i == events.size() - 1);
+                written.put(event.aggregateId(), new AggregateHead(event.version(), pointer));
+                if (position % INDEX_INTERVAL == 1) {
+                    positionIndex.put(position, pointer);
+                }
+            }
+
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                for (int i = segmentsBefore - 1; i < segments.size(); i++) {
+                    segments.get(i).force();
+                }
+            }
+            heads.putAll(written);
+            lastPosition = position;
+        } catch (IOException | UncheckedIOException e) {
+            discard(first, firstOffset, segmentsBefore);
+            throw new RuntimeException("Failed to append events", e);
+        }
+    }
+
+    private long writeRecord(Segment segment, EncodedEvent event, long position, long previous, boolean batchEnd) {
+        int offset = segment.writeOffset();
+        int body = offset + HEADER_BYTES;
+        ByteBuffer view = segment.view();
+        view.position(body);
+        view.putLong(position)
+                .putLong(event.version())
+                .putLong(event.aggregateId().getMostSignificantBits())
+                .putLong(event.aggregateId().getLeastSignificantBits())
+                .putLong(previous)
+                .put(batchEnd ? BATCH_END : 0)
+                .putShort((short) event.type().length)
+                .put(event.type())
+                .putInt(event.payload().length)
+                .put(event.payload());
+        view.putInt(offset + 4, crc(view, body, event.length()));
+        view.putInt(offset, event.length());
+        segment.writeOffset(body + event.length());
+        return pointer(segment.ordinal(), offset);
+    }
+
+    private void discard(Segment first, int firstOffset, int segmentsBefore) {
+        first.clear(firstOffset);
+        first.writeOffset(firstOffset);
+        while (segments.size() > segmentsBefore) {
+            try {
+                segments.removeLast().delete();
+            } catch (IOException e) {
+                log.warn("Failed to delete unused segment", e);
+            }
+        }
+        positionIndex.tailMap(lastPosition, false).clear();
+    }
+
+    /**
+     * Rebuilds the indexes by scanning every segment, verifying CRCs and position continuity. Everything after
+     * the last valid, complete batch is the residue of a crash and is cut off.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(Segment.SUFFIX)).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            if (!files.get(i).getFileName().toString().equals(Segment.fileName(i))) {
+                throw new IllegalStateException("Missing segment " + Segment.fileName(i) + " in " + directory);
+            }
+            segments.add(Segment.open(directory, i, segmentSize));
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(directory, 0, segmentSize));
+            return;
+        }
+
+        Map<UUID, AggregateHead> batch = new HashMap<>();
+        long position = 0;
+        int validSegment = 0;
+        int validOffset = 0;
+        scan:
+        for (Segment segment : segments) {
+            ByteBuffer view = segment.view();
+            int offset = 0;
+            while (offset + HEADER_BYTES <= segment.size()) {
+                int length = view.getInt(offset);
+                if (length == 0) break;
+                if (length < FIXED_BODY_BYTES || offset + HEADER_BYTES + length > segment.size()
+                        || crc(view, offset + HEADER_BYTES, length) != view.getInt(offset + 4)
+                        || position(view, offset) != position + 1) {
+                    break scan;
+                }
+                position++;
+                long pointer = pointer(segment.ordinal(), offset);
+                batch.put(aggregateId(view, offset), new AggregateHead(version(view, offset), pointer));
+                if (position % INDEX_INTERVAL == 1) {
+                    positionIndex.put(position, pointer);
+                }
+                boolean batchEnd = (flags(view, offset) & BATCH_END) != 0;
+                offset += HEADER_BYTES + length;
+                segment.writeOffset(offset);
+                if (batchEnd) {
+                    heads.putAll(batch);
+                    batch.clear();
+                    lastPosition = position;
+                    validSegment = segment.ordinal();
+                    validOffset = offset;
+                }
+            }
+        }
+        truncate(validSegment, validOffset);
+    }
+
+    private void truncate(int segment, int offset) throws IOException {
+        Segment last = segments.get(segment);
+        boolean dirty = segments.size() > segment + 1 || last.writeOffset() > offset
+                || (offset + HEADER_BYTES <= last.size() && last.view().getInt(offset) != 0);
+        if (!dirty) return;
+
+        log.warn("Truncating event log in {} after position {} (segment {}, offset {})",
+                directory, lastPosition, segment, offset);
+        last.clear(offset);
+        last.writeOffset(offset);
+        last.force();
+        while (segments.size() > segment + 1) {
+            segments.removeLast().delete();
+        }
+        positionIndex.tailMap(lastPosition, false).clear();
+    }
+
+    private DomainEvent toDomainEvent(ByteBuffer view, int offset) {
+        int typeOffset = offset + HEADER_BYTES + 43;
+        int typeLength = view.getShort(typeOffset - 2);
+        String type = string(view, typeOffset, typeLength);
+        int payloadLength = view.getInt(typeOffset + typeLength);
+        byte[] payload = new byte[payloadLength];
+        view.get(typeOffset + typeLength + 4, payload);
+        return eventTypes.deserialize(type, payload);
+    }
+
+    private static String string(ByteBuffer view, int offset, int length) {
+        byte[] bytes = new byte[length];
+        view.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer view, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(view.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static long position(ByteBuffer view, int offset) {
+        return view.getLong(offset + HEADER_BYTES);
+    }
+
+    private static long version(ByteBuffer view, int offset) {
+        return view.getLong(offset + HEADER_BYTES + 8);
+    }
+
+    private static UUID aggregateId(ByteBuffer view, int offset) {
+        return new UUID(view.getLong(offset + HEADER_BYTES + 16), view.getLong(offset + HEADER_BYTES + 24));
+    }
+
+    private static long previous(ByteBuffer view, int offset) {
+        return view.getLong(offset + HEADER_BYTES + 32);
+    }
+
+    private static byte flags(ByteBuffer view, int offset) {
+        return view.get(offset + HEADER_BYTES + 40);
+    }
+
+    private static long pointer(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    private static int segmentOf(long pointer) {
+        return (int) (pointer >>> 32);
+    }
+
+    private static int offsetOf(long pointer) {
+        return (int) pointer;
+    }
+}
@@ -0,0 +1,22 @@
+package com.disasterrelief.core.eventstore.file;
+
+/**
+ * When {@link FileEventStore} forces written segments to disk.
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Force before every append returns; an acknowledged append survives power loss.
+     */
+    ALWAYS,
+
+    /**
+     * Force in the background once per interval; power loss can drop the appends of the last interval.
+     */
+    INTERVAL,
+
+    /**
+     * Leave write-back to the OS; survives a process crash but not power loss.
+     */
+    NEVER
+}
@@ -0,0 +1,108 @@
+package com.disasterrelief.core.eventstore.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * One fixed-size, memory-mapped log file. Unwritten space is zero, so a zero length marks the end of the
+ * records. Only the store's writer moves {@code writeOffset}; readers work on their own {@link #view()}.
+ */
+final class Segment {
+
+    static final String SUFFIX = ".segment";
+
+    private final int ordinal;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writeOffset;
+    private int flushedOffset;
+
+    private Segment(int ordinal, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.ordinal = ordinal;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the segment file, creating it with {@code size} bytes if it does not exist yet.
+     */
+    static Segment open(Path directory, int ordinal, int size) throws IOException {
+        Path path = directory.resolve(fileName(ordinal));
+        FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+        long existing = channel.size();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, existing > 0 ? existing : size);
+        return new Segment(ordinal, path, channel, buffer);
+    }
+
+    static String fileName(int ordinal) {
+        return String.format("%010d%s", ordinal, SUFFIX);
+    }
+
+    int ordinal() {
+        return ordinal;
+    }
+
+    int size() {
+        return buffer.capacity();
+    }
+
+    int writeOffset() {
+        return writeOffset;
+    }
+
+    void writeOffset(int writeOffset) {
+        this.writeOffset = writeOffset;
+        this.flushedOffset = Math.min(flushedOffset, writeOffset);
+    }
+
+    int remaining() {
+        return size() - writeOffset;
+    }
+
+    /**
+     * An independent buffer over the whole segment, for use by a single thread.
+     */
+    ByteBuffer view() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * Zeroes {@code [from, size)} so stale bytes past the end of the log can never be read as records.
+     */
+    void clear(int from) {
+        ByteBuffer view = view();
+        byte[] zeros = new byte[8192];
+        for (int i = from; i < size(); i += zeros.length) {
+            view.put(i, zeros, 0, Math.min(zeros.length, size() - i));
+        }
+    }
+
+    /**
+     * Forces the bytes written since the previous call to disk.
+     */
+    void force() {
+        if (writeOffset > flushedOffset) {
+            buffer.force(flushedOffset, writeOffset - flushedOffset);
+            flushedOffset = writeOffset;
+        }
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
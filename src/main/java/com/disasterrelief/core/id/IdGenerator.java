@@ -0,0 +1,11 @@
+package com.disasterrelief.core.id;
+
+import java.util.UUID;
+
+/**
+ * Source of new entity ids. Implementations must be safe for concurrent use.
+ */
+public interface IdGenerator {
+
+    UUID nextId();
+}
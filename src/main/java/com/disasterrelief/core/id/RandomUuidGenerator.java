@@ -0,0 +1,15 @@
+package com.disasterrelief.core.id;
+
+import java.util.UUID;
+
+/**
+ * Version 4 UUIDs from {@link UUID#randomUUID()}: unordered, but drawn from {@code SecureRandom} and therefore
+ * unguessable.
+ */
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,160 @@
+package com.disasterrelief.core.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes {@code event_outbox} rows to Kafka and deletes them once the broker has acknowledged them, so
+ * downstream systems consume the topic instead of polling the event tables.
+ *
+ * <p>Each run takes up to {@code batchSize} rows in id order, sends them all (the producer batches them
+ * further), waits for every acknowledgement and deletes the rows, all in one transaction; it repeats while full
+ * batches come back and then sleeps for the linger time. Records are keyed by aggregate id, so each aggregate's
+ * events land on one partition in append order. A transaction-scoped advisory lock keeps a single relay active
+ * across instances, which that ordering relies on. Delivery is at least once: a failure leaves the rows in place
+ * to be sent again, so consumers should deduplicate on the {@code event-id} header.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eventstore.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    /**
+     * Arbitrary key of the advisory lock held by the active relay.
+     */
+    private static final long RELAY_LOCK = 0x6f7574626f78L;
+
+    private record OutboxRow(long id, UUID eventId, UUID aggregateId, String eventType, byte[] payload,
+                             Instant createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final Clock clock;
+    private final String topic;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final DistributionSummary batchSizes;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                       Clock clock,
+                       MeterRegistry meterRegistry,
+                       @Value("${eventstore.outbox.topic:disaster-relief.events}") String topic,
+                       @Value("${eventstore.outbox.batch-size:500}") int batchSize,
+                       @Value("${eventstore.outbox.send-timeout:30s}") Duration sendTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.kafkaTemplate = kafkaTemplate;
+        this.clock = clock;
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.published = Counter.builder("outbox.published")
+                .description("Events published to Kafka")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("outbox.batch.size")
+                .description("Events published per relay transaction")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished event when the relay last looked")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${eventstore.outbox.linger:50ms}")
+    public void relay() {
+        try {
+            while (publishBatch() == batchSize) {
+                // a full batch means more may be waiting
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed; unpublished events will be retried", e);
+        }
+    }
+
+    /**
+     * Publishes and deletes one batch; returns its size, or 0 if another instance holds the relay lock.
+     */
+    public int publishBatch() {
+        Integer sent = transaction.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class,
+                    RELAY_LOCK);
+            if (!Boolean.TRUE.equals(locked)) {
+                return 0;
+            }
+            List<OutboxRow> rows = jdbcTemplate.query("""
+                            select id, event_id, aggregate_id, event_type, payload, created_at
+                            from event_outbox order by id limit ?""",
+                    (rs, rowNum) -> new OutboxRow(rs.getLong(1), rs.getObject(2, UUID.class),
+                            rs.getObject(3, UUID.class), rs.getString(4), rs.getBytes(5),
+                            rs.getTimestamp(6).toInstant()),
+                    batchSize);
+            lagMillis.set(rows.isEmpty() ? 0
+                    : Math.max(0, Duration.between(rows.getFirst().createdAt(), clock.instant()).toMillis()));
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            send(rows);
+            // by id rather than a range: a row with a lower id may commit after this batch was read
+            jdbcTemplate.batchUpdate("delete from event_outbox where id = ?",
+                    rows.stream().map(row -> new Object[] {row.id()}).toList());
+            return rows.size();
+        });
+        if (sent != null && sent > 0) {
+            published.increment(sent);
+            batchSizes.record(sent);
+        }
+        return sent == null ? 0 : sent;
+    }
+
+    private void send(List<OutboxRow> rows) {
+        List<CompletableFuture<?>> acks = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, row.aggregateId().toString(),
+                    row.payload());
+            record.headers()
+                    .add("event-id", row.eventId().toString().getBytes(StandardCharsets.UTF_8))
+                    .add("event-type", row.eventType().getBytes(StandardCharsets.UTF_8));
+            acks.add(kafkaTemplate.send(record));
+        }
+        kafkaTemplate.flush();
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to publish outbox events", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.disasterrelief.core.outbox;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.AppendListener;
+import com.disasterrelief.core.eventstore.PersistedEvent;
+import com.disasterrelief.util.EventSerializationUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes an {@code event_outbox} row for every appended event, as JSON, in the append's transaction and as a
+ * single JDBC batch.
+ */
+@Component
+@ConditionalOnProperty(name = "eventstore.outbox.enabled", havingValue = "true")
+public class OutboxWriter implements AppendListener {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onAppend(List<PersistedEvent> rows, List<DomainEvent> events) {
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            PersistedEvent row = rows.get(i);
+            batch.add(new Object[] {row.getId(), row.getSagaId(), row.getEventType(),
+                    EventSerializationUtil.serializeToBytes(events.get(i)), Timestamp.from(row.getCreatedAt())});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into event_outbox (event_id, aggregate_id, event_type, payload, created_at)
+                values (?, ?, ?, ?, ?)""", batch);
+    }
+}
@@ -0,0 +1,93 @@
+package com.disasterrelief.core.projection;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.AppendListener;
+import com.disasterrelief.core.eventstore.PersistedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Wakes the {@link ProjectionEngine} as soon as events commit, on every instance, instead of waiting for the
+ * next poll. Appends send a Postgres {@code NOTIFY} in their transaction, which is delivered on commit; a
+ * listener thread holds one connection on {@code LISTEN} and runs the projections when notified. Polling stays
+ * on as a fallback for missed notifications and lost connections.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "projections.listen", havingValue = "true")
+public class EventNotifications implements AppendListener, Closeable {
+
+    static final String CHANNEL = "persisted_events";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectProvider<ProjectionEngine> engine;
+    private final int waitMillis;
+    private final Thread listener;
+    private volatile boolean closed;
+
+    public EventNotifications(JdbcTemplate jdbcTemplate,
+                              DataSource dataSource,
+                              ObjectProvider<ProjectionEngine> engine,
+                              @Value("${projections.poll-interval:1s}") Duration wait) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.engine = engine;
+        this.waitMillis = (int) Math.max(wait.toMillis(), 1);
+        this.listener = Thread.ofPlatform().name("projection-listener").daemon().start(this::listen);
+    }
+
+    /**
+     * Postgres folds identical notifications within a transaction, so one is sent per append.
+     */
+    @Override
+    public void onAppend(List<PersistedEvent> rows, List<DomainEvent> events) {
+        jdbcTemplate.execute("notify " + CHANNEL);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        listener.interrupt();
+    }
+
+    private void listen() {
+        while (!closed) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("listen " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!closed) {
+                    PGNotification[] notifications = pgConnection.getNotifications(waitMillis);
+                    if (notifications != null && notifications.length > 0) {
+                        engine.ifAvailable(ProjectionEngine::runAll);
+                    }
+                }
+                // the connection goes back to the pool
+                statement.execute("unlisten " + CHANNEL);
+            } catch (SQLException | RuntimeException e) {
+                if (closed) return;
+                log.warn("Lost the event notification connection, reconnecting", e);
+                try {
+                    Thread.sleep(waitMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.disasterrelief.core.projection;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A read model kept up to date from the event store by the {@link ProjectionEngine}. Register one as a Spring
+ * bean and the engine tails the store for it.
+ */
+public interface Projection {
+
+    /**
+     * Key of the projection's checkpoint. Changing it rebuilds the projection from the start of the store.
+     */
+    String name();
+
+    /**
+     * The event types the projection reads; others are skipped without being decoded.
+     */
+    Set<Class<? extends DomainEvent>> eventTypes();
+
+    /**
+     * Applies a batch of events, in store order. Runs in the transaction that then advances the checkpoint, so
+     * writes made through the application's data source commit or roll back together with it. A failure rolls
+     * the batch back and it is offered again on the next run.
+     */
+    void apply(List<EventEnvelope> events);
+}
@@ -0,0 +1,146 @@
+package com.disasterrelief.core.projection;
+
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the event store for every {@link Projection} bean. Each run reads a projection's events after its
+ * checkpoint in batches of {@code batchSize} (gap-aware, see {@link EventStore#readFrom}), hands it those of
+ * its types and advances the checkpoint, one transaction per batch, until the projection has caught up.
+ *
+ * <p>Runs are triggered by polling and, with {@code projections.listen} on, by {@link EventNotifications} as
+ * soon as events commit. The checkpoint row is locked for the batch and skipped when another instance holds it,
+ * so each projection is applied by one instance at a time. {@code projection.lag} reports, per projection, how
+ * many positions it trails the newest one handed out, which may overstate the lag by a few rolled-back ones.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class ProjectionEngine {
+
+    private record Tracked(Projection projection, AtomicLong lag, Counter applied) {
+    }
+
+    private record BatchResult(int read, int applied) {
+    }
+
+    private static final BatchResult NOTHING = new BatchResult(0, 0);
+
+    private final List<Tracked> projections;
+    private final EventStore eventStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+
+    public ProjectionEngine(ObjectProvider<Projection> projections,
+                            EventStore eventStore,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${projections.batch-size:500}") int batchSize) {
+        this.eventStore = eventStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.projections = projections.orderedStream()
+                .map(projection -> {
+                    AtomicLong lag = new AtomicLong();
+                    Gauge.builder("projection.lag", lag, AtomicLong::get)
+                            .description("Positions between the projection's checkpoint and the newest event")
+                            .tag("projection", projection.name())
+                            .register(meterRegistry);
+                    Counter applied = Counter.builder("projection.events")
+                            .description("Events applied to the projection")
+                            .tag("projection", projection.name())
+                            .register(meterRegistry);
+                    return new Tracked(projection, lag, applied);
+                })
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${projections.poll-interval:1s}")
+    public void poll() {
+        runAll();
+    }
+
+    /**
+     * Brings every projection up to date. Serialized, so a notification arriving mid-run queues one more run.
+     */
+    public synchronized void runAll() {
+        for (Tracked tracked : projections) {
+            try {
+                while (runBatch(tracked) == batchSize) {
+                    // a full batch means more may be waiting
+                }
+                tracked.lag().set(lag(tracked.projection().name()));
+            } catch (RuntimeException e) {
+                log.warn("Projection {} failed; its batch will be retried", tracked.projection().name(), e);
+            }
+        }
+    }
+
+    /**
+     * The position of the last event the projection has applied, 0 if it has not started.
+     */
+    public long checkpoint(String projection) {
+        List<Long> position = jdbcTemplate.queryForList(
+                "select position from projection_checkpoints where projection = ?", Long.class, projection);
+        return position.isEmpty() ? 0 : position.getFirst();
+    }
+
+    private int runBatch(Tracked tracked) {
+        Projection projection = tracked.projection();
+        BatchResult result = transaction.execute(status -> {
+            jdbcTemplate.update("""
+                    insert into projection_checkpoints (projection, position, updated_at) values (?, 0, now())
+                    on conflict (projection) do nothing""", projection.name());
+            List<Long> checkpoint = jdbcTemplate.queryForList("""
+                    select position from projection_checkpoints where projection = ?
+                    for update skip locked""", Long.class, projection.name());
+            if (checkpoint.isEmpty()) {
+                return NOTHING;
+            }
+            List<EventEnvelope> batch = eventStore.readEnvelopesFrom(checkpoint.getFirst(), batchSize);
+            if (batch.isEmpty()) {
+                return NOTHING;
+            }
+            List<EventEnvelope> relevant = batch.stream()
+                    .filter(envelope -> projection.eventTypes().stream().anyMatch(envelope::is))
+                    .toList();
+            if (!relevant.isEmpty()) {
+                projection.apply(relevant);
+            }
+            jdbcTemplate.update("update projection_checkpoints set position = ?, updated_at = now() where projection = ?",
+                    batch.getLast().position(), projection.name());
+            return new BatchResult(batch.size(), relevant.size());
+        });
+        if (result == null) {
+            return 0;
+        }
+        tracked.applied().increment(result.applied());
+        return result.read();
+    }
+
+    private long lag(String projection) {
+        Long lag = jdbcTemplate.queryForObject("""
+                select greatest(s.last_value - coalesce(c.position, 0), 0)
+                from persisted_events_global_position_seq s
+                left join projection_checkpoints c on c.projection = ?""", Long.class, projection);
+        return lag == null ? 0 : lag;
+    }
+}
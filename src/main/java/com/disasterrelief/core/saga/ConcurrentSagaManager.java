@@ -0,0 +1,245 @@
+package com.disasterrelief.core.saga;
+
+import com.disasterrelief.core.deadline.DeadlineScheduler;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link SagaManager} that may be called from any number of threads. Each saga id hashes to one of a fixed
+ * set of lock stripes, and an event, or a deadline, is handed to its saga while holding that stripe. A saga
+ * therefore never runs on two threads at once and sees the events of any one caller in that caller's order,
+ * while sagas on different stripes proceed in parallel. Two sagas rarely share a stripe when there are many
+ * more stripes than threads.
+ *
+ * <p>Events of one saga submitted concurrently by different threads are handled in the order the threads
+ * acquire the stripe; callers that need a total order per saga should route each saga to one thread, as
+ * partitioned consumers do. Sagas run on the calling thread, and {@code handleEvent} returns once the saga has
+ * handled the event.
+ */
+public class ConcurrentSagaManager<ID, S extends Saga<ID>> extends SagaManager<ID, S> {
+
+    static final int DEFAULT_STRIPES = 1024;
+    private static final int REPLAY_QUEUE_CAPACITY = 1024;
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final EventEnvelope END_OF_REPLAY = new EventEnvelope(-1, null, 0, DomainEvent.class, null, null,
+            null);
+
+    private final ReentrantLock[] stripes;
+
+    public ConcurrentSagaManager(Function<DomainEvent, ID> sagaIdExtractor,
+                                 Function<ID, S> sagaFactory,
+                                 Predicate<DomainEvent> isStartingEvent) {
+        this(sagaIdExtractor, (sagaId, startingEvent) -> sagaFactory.apply(sagaId), isStartingEvent,
+                Set.of(DomainEvent.class), null, sagaId -> List.of(), DEFAULT_STRIPES);
+    }
+
+    /**
+     * See {@link SagaManager#SagaManager(Function, BiFunction, Predicate, Set, DeadlineScheduler, Function)}.
+     *
+     * @param stripes the number of locks saga ids are spread over, rounded up to a power of two
+     */
+    public ConcurrentSagaManager(Function<DomainEvent, ID> sagaIdExtractor,
+                                 BiFunction<ID, DomainEvent, S> sagaFactory,
+                                 Predicate<DomainEvent> isStartingEvent,
+                                 Set<Class<? extends DomainEvent>> handledTypes,
+                                 DeadlineScheduler<ID> deadlines,
+                                 Function<ID, List<DomainEvent>> history,
+                                 int stripes) {
+        super(sagaIdExtractor, sagaFactory, isStartingEvent, handledTypes, deadlines, history);
+        if (stripes <= 0) throw new IllegalArgumentException("stripes must be positive");
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(size, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    protected void dispatch(ID sagaId, DomainEvent event) {
+        runExclusively(sagaId, () -> super.dispatch(sagaId, event));
+    }
+
+    @Override
+    protected void dispatchReplay(ID sagaId, DomainEvent event) {
+        runExclusively(sagaId, () -> super.dispatchReplay(sagaId, event));
+    }
+
+    @Override
+    protected void dispatchTail(ID sagaId, DomainEvent event, long version) {
+        runExclusively(sagaId, () -> super.dispatchTail(sagaId, event, version));
+    }
+
+    /**
+     * Fires each expired deadline under its saga's stripe, so that it is serialized with the saga's events.
+     */
+    @Override
+    protected void fireDeadline(ID sagaId) {
+        runExclusively(sagaId, () -> super.fireDeadline(sagaId));
+    }
+
+    /**
+     * Runs {@code action} holding the saga's stripe.
+     */
+    protected void runExclusively(ID sagaId, Runnable action) {
+        ReentrantLock lock = stripeOf(sagaId);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replay stored events, e.g. {@code EventStore.streamEnvelopes()}, on {@code workers} virtual threads. The
+     * calling thread reads the stream and deals each envelope to the worker of its aggregate id, so that the
+     * events of one aggregate are decoded and handled by one worker in store order while the workers handle
+     * different aggregates in parallel. This keeps each saga's order for sagas identified by the aggregate id of
+     * their events, as a command's saga is. The events are passed to {@link Saga#replay}, so the replay
+     * records and compensates nothing; deadlines that passed fire afterwards through {@link #fireDeadlines()}. A
+     * worker remembers the sagas that finish during the replay, completed or compensated, and skips their later
+     * events without decoding them.
+     *
+     * @param progress receives a report about once a second and a final one once every worker has finished
+     * @return the final report
+     */
+    public ReplayProgress replayInParallel(Stream<EventEnvelope> envelopes,
+                                           int workers,
+                                           Consumer<ReplayProgress> progress) {
+        if (workers <= 0) throw new IllegalArgumentException("workers must be positive");
+        long startedAt = System.nanoTime();
+        LongAdder handled = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        List<BlockingQueue<EventEnvelope>> partitions = new ArrayList<>(workers);
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            BlockingQueue<EventEnvelope> partition = new ArrayBlockingQueue<>(REPLAY_QUEUE_CAPACITY);
+            partitions.add(partition);
+            threads.add(Thread.ofVirtual().name("saga-replay-" + i)
+                    .start(() -> replayPartition(partition, handled, skipped, failure)));
+        }
+
+        long read = 0;
+        long nextReport = startedAt + REPORT_INTERVAL_NANOS;
+        try {
+            Iterator<EventEnvelope> iterator = envelopes.iterator();
+            while (iterator.hasNext() && failure.get() == null) {
+                EventEnvelope envelope = iterator.next();
+                read++;
+                if (envelope.aggregateId() == null || !handles(envelope)) {
+                    skipped.increment();
+                } else {
+                    deal(partitions.get(partitionOf(envelope.aggregateId(), workers)), envelope, failure);
+                }
+                if (System.nanoTime() - nextReport >= 0) {
+                    progress.accept(report(read, handled, skipped, startedAt));
+                    nextReport += REPORT_INTERVAL_NANOS;
+                }
+            }
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                if (!deal(partitions.get(i), END_OF_REPLAY, failure)) threads.get(i).interrupt();
+            }
+            for (Thread thread : threads) {
+                awaitWorker(thread);
+            }
+        }
+        if (failure.get() != null) throw new IllegalStateException("Saga replay failed", failure.get());
+
+        ReplayProgress done = report(read, handled, skipped, startedAt);
+        progress.accept(done);
+        return done;
+    }
+
+    private void replayPartition(BlockingQueue<EventEnvelope> partition,
+                                 LongAdder handled,
+                                 LongAdder skipped,
+                                 AtomicReference<RuntimeException> failure) {
+        Set<UUID> completed = new HashSet<>();
+        try {
+            for (EventEnvelope envelope; (envelope = partition.take()) != END_OF_REPLAY; ) {
+                if (completed.contains(envelope.aggregateId())) {
+                    skipped.increment();
+                    continue;
+                }
+                DomainEvent event = envelope.event();
+                ID sagaId = sagaIdOf(event);
+                handled.increment();
+                if (sagaId == null) continue;
+                boolean wasActive = isActive(sagaId);
+                dispatchReplay(sagaId, event);
+                if (wasActive && !isActive(sagaId) && sagaId.equals(envelope.aggregateId())) {
+                    completed.add(envelope.aggregateId());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Queues an envelope for a worker, waiting while its queue is full unless a worker has failed.
+     *
+     * @return false if it was dropped because of a failure
+     */
+    private static boolean deal(BlockingQueue<EventEnvelope> partition,
+                                EventEnvelope envelope,
+                                AtomicReference<RuntimeException> failure) {
+        try {
+            while (!partition.offer(envelope, 10, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying sagas", e);
+        }
+    }
+
+    private static void awaitWorker(Thread worker) {
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying sagas", e);
+        }
+    }
+
+    private ReplayProgress report(long read, LongAdder handled, LongAdder skipped, long startedAt) {
+        return new ReplayProgress(read, handled.sum(), skipped.sum(), activeCount(),
+                Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private static int partitionOf(UUID aggregateId, int workers) {
+        int hash = aggregateId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), workers);
+    }
+
+    private ReentrantLock stripeOf(ID sagaId) {
+        int hash = sagaId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,21 @@
+package com.disasterrelief.core.saga;
+
+import java.time.Duration;
+
+/**
+ * How far a parallel saga replay has come.
+ *
+ * @param read         envelopes read from the store so far
+ * @param handled      events handed to a saga
+ * @param skipped      events skipped without decoding, being of an unhandled type or of a saga that already
+ *                     completed or compensated during the replay
+ * @param activeSagas  sagas in memory
+ * @param elapsed      time since the replay started
+ */
+public record ReplayProgress(long read, long handled, long skipped, int activeSagas, Duration elapsed) {
+
+    public long eventsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return read * 1000 / millis;
+    }
+}
@@ -2,7 +2,7 @@ package com.disasterrelief.core.saga;
 
 import com.disasterrelief.core.event.DomainEvent;
 
-import java.util.UUID;
+import java.time.Instant;
 
 public interface Saga<ID> {
 
@@ -13,12 +13,34 @@ public interface Saga<ID> {
 
     /**
      * Handle a domain event to update the Saga's state.
-     * This method is called for both new and replayed events.
+     * This method is called for new events; events already recorded are passed to {@link #replay}.
      */
     void handle(DomainEvent event);
 
     /**
-     * Returns true if the Saga is complete and no longer needs to process events.
+     * Apply an event already recorded, e.g. while rebuilding the Saga from its history, without side effects:
+     * nothing is persisted or compensated, and a passed deadline is left to {@link #onDeadline()}. Sagas whose
+     * {@link #handle} has no side effects need not override it.
+     */
+    default void replay(DomainEvent event) {
+        handle(event);
+    }
+
+    /**
+     * Returns true if the Saga is complete and no longer needs to process events, whatever its outcome.
      */
     boolean isCompleted();
+
+    /**
+     * Returns when the Saga stops waiting for further events, or null if it has no deadline (any more).
+     */
+    default Instant deadline() {
+        return null;
+    }
+
+    /**
+     * Called once the deadline has passed without the Saga completing, e.g. to compensate.
+     */
+    default void onDeadline() {
+    }
 }
@@ -1,20 +1,30 @@
 package com.disasterrelief.core.saga;
 
+import com.disasterrelief.core.deadline.DeadlineScheduler;
 import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
 
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class SagaManager<ID, S extends Saga<ID>> {
 
-    private final Map<ID, S> sagas = new HashMap<>();
+    // Concurrent only so that ConcurrentSagaManager can share it; this class itself is single-threaded
+    private final Map<ID, S> sagas = new ConcurrentHashMap<>();
     private final Function<DomainEvent, ID> sagaIdExtractor;
-    private final Function<ID, S> sagaFactory;
+    private final BiFunction<ID, DomainEvent, S> sagaFactory;
     private final Predicate<DomainEvent> isStartingEvent;
+    private final Set<Class<? extends DomainEvent>> handledTypes;
+    private final DeadlineScheduler<ID> deadlines;
+    private final Function<ID, List<DomainEvent>> history;
 
     /**
      * @param sagaIdExtractor function to extract saga ID from an event
@@ -24,9 +34,33 @@ public class SagaManager<ID, S extends Saga<ID>> {
     public SagaManager(Function<DomainEvent, ID> sagaIdExtractor,
                        Function<ID, S> sagaFactory,
                        Predicate<DomainEvent> isStartingEvent) {
+        this(sagaIdExtractor, (sagaId, startingEvent) -> sagaFactory.apply(sagaId), isStartingEvent,
+                Set.of(DomainEvent.class), null, sagaId -> List.of());
+    }
+
+    /**
+     * @param sagaFactory function to create a saga from its ID and the event that starts it, for sagas that
+     *                    take their parameters from that event
+     * @param handledTypes the event types the sagas react to; envelopes of any other type are skipped without
+     *                     decoding their payload
+     * @param deadlines holds the {@link Saga#deadline() deadline} of every active saga; {@link #fireDeadlines()}
+     *                  hands those that passed to their saga. May be null for sagas without deadlines
+     * @param history the events of one saga in version order, e.g. from {@code EventStore.readByAggregateId};
+     *                used to rebuild a saga that is not in memory, as after a restart that loaded its deadline
+     *                instead of replaying the history
+     */
+    public SagaManager(Function<DomainEvent, ID> sagaIdExtractor,
+                       BiFunction<ID, DomainEvent, S> sagaFactory,
+                       Predicate<DomainEvent> isStartingEvent,
+                       Set<Class<? extends DomainEvent>> handledTypes,
+                       DeadlineScheduler<ID> deadlines,
+                       Function<ID, List<DomainEvent>> history) {
         this.sagaIdExtractor = sagaIdExtractor;
         this.sagaFactory = sagaFactory;
         this.isStartingEvent = isStartingEvent;
+        this.handledTypes = Set.copyOf(handledTypes);
+        this.deadlines = deadlines;
+        this.history = history;
     }
 
     /**
@@ -36,9 +70,59 @@ public class SagaManager<ID, S extends Saga<ID>> {
     public void handleEvent(DomainEvent event) {
         if (event == null) return;
 
-        ID sagaId = sagaIdExtractor.apply(event);
+        ID sagaId = sagaIdOf(event);
+        if (sagaId == null) return;
+
+        dispatch(sagaId, event);
+    }
+
+    protected ID sagaIdOf(DomainEvent event) {
+        return sagaIdExtractor.apply(event);
+    }
+
+    /**
+     * Dispatch an event already recorded, e.g. read back from the event store, to {@link Saga#replay}, creating
+     * the saga if it is a starting event. Rebuilds saga state without side effects.
+     */
+    public void replayEvent(DomainEvent event) {
+        if (event == null) return;
+
+        ID sagaId = sagaIdOf(event);
         if (sagaId == null) return;
 
+        dispatchReplay(sagaId, event);
+    }
+
+    /**
+     * Hand an event to its saga, creating the saga for a starting event. Subclasses may wrap this to control
+     * which thread runs it.
+     */
+    protected void dispatch(ID sagaId, DomainEvent event) {
+        deliver(sagaId, event, false);
+    }
+
+    /**
+     * Like {@link #dispatch}, for an event already recorded. Subclasses may wrap this like {@link #dispatch}.
+     */
+    protected void dispatchReplay(ID sagaId, DomainEvent event) {
+        deliver(sagaId, event, true);
+    }
+
+    /**
+     * Like {@link #dispatchReplay}, for the event at {@code version} of the saga's history as the store is
+     * tailed. A saga that is not in memory but has a deadline pending, as one whose deadline was loaded instead
+     * of replaying the store, is rebuilt from its history up to and including this event instead. Subclasses
+     * may wrap this like {@link #dispatch}.
+     */
+    protected void dispatchTail(ID sagaId, DomainEvent event, long version) {
+        if (!sagas.containsKey(sagaId) && deadlines != null && deadlines.isScheduled(sagaId)) {
+            restore(sagaId, version);
+        } else {
+            dispatchReplay(sagaId, event);
+        }
+    }
+
+    private void deliver(ID sagaId, DomainEvent event, boolean replay) {
         S saga = sagas.get(sagaId);
 
         if (saga == null) {
@@ -46,28 +130,188 @@ public class SagaManager<ID, S extends Saga<ID>> {
             if (!isStartingEvent.test(event)) {
                 return; // ignore event for unknown saga that is not a start event
             }
-            saga = sagaFactory.apply(sagaId);
+            saga = sagaFactory.apply(sagaId, event);
             sagas.put(sagaId, saga);
         }
 
-        saga.handle(event);
+        if (replay) {
+            saga.replay(event);
+        } else {
+            saga.handle(event);
+        }
 
         if (saga.isCompleted()) {
             sagas.remove(sagaId);
             // Optional: publish saga completion event or cleanup
         }
+        trackDeadline(sagaId, saga);
+    }
+
+    /**
+     * Hand every saga whose deadline has passed to {@link Saga#onDeadline()}, rebuilding it from its history
+     * first if it is not in memory. Call periodically from the thread that dispatches events, as sagas are not
+     * shared between threads.
+     *
+     * @return the number of deadlines that fired
+     */
+    public int fireDeadlines() {
+        if (deadlines == null) return 0;
+        return deadlines.expire(this::fireDeadline);
+    }
+
+    /**
+     * Hand one saga its expired deadline. Subclasses may wrap this like {@link #dispatch}.
+     */
+    protected void fireDeadline(ID sagaId) {
+        S saga = sagas.containsKey(sagaId) ? sagas.get(sagaId) : restore(sagaId);
+        if (saga == null) return;
+        saga.onDeadline();
+        if (saga.isCompleted()) {
+            sagas.remove(sagaId);
+        }
+        trackDeadline(sagaId, saga);
     }
 
     /**
-     * Replay a list of events (e.g., on startup) to restore saga state.
+     * Dispatch an event envelope, decoding its payload only if its type is one the sagas handle.
+     */
+    public void handleEnvelope(EventEnvelope envelope) {
+        if (envelope == null || !handles(envelope)) return;
+        handleEvent(envelope.event());
+    }
+
+    /**
+     * Replay a stored event, decoding its payload only if its type is one the sagas handle.
+     */
+    public void replayEnvelope(EventEnvelope envelope) {
+        if (envelope == null || !handles(envelope)) return;
+        replayEvent(envelope.event());
+    }
+
+    /**
+     * Replay a list of events (e.g., on startup) to restore saga state, without side effects.
      */
     public void replayEvents(List<DomainEvent> events) {
         if (events == null) return;
         for (DomainEvent event : events) {
-            handleEvent(event);
+            replayEvent(event);
+        }
+    }
+
+    /**
+     * Replay a lazily read stream of events, e.g. {@code EventStore.streamAll()}, without holding
+     * the history in memory.
+     */
+    public void replayEvents(Stream<DomainEvent> events) {
+        if (events == null) return;
+        events.forEach(this::replayEvent);
+    }
+
+    /**
+     * Replay stored events, e.g. {@code EventStore.streamEnvelopes()}, decoding only those the sagas handle.
+     */
+    public void replayEnvelopes(Stream<EventEnvelope> envelopes) {
+        if (envelopes == null) return;
+        envelopes.forEach(this::replayEnvelope);
+    }
+
+    /**
+     * Replay the events recorded after {@code position} to the sagas, in batches, until caught up.
+     * Lets a consumer resume from its checkpoint instead of replaying the whole history. A saga whose deadline
+     * is pending but which is not in memory is rebuilt from its history when one of its events comes up, so the
+     * consumer may start from {@link EventStore#settledPosition()} after loading the pending deadlines.
+     *
+     * @return the position of the last handled event, to be stored as the next checkpoint
+     */
+    public long catchUp(EventStore eventStore, long position, int batchSize) {
+        long checkpoint = position;
+        List<EventEnvelope> batch;
+        do {
+            batch = eventStore.readEnvelopesFrom(checkpoint, batchSize);
+            for (EventEnvelope envelope : batch) {
+                tailEnvelope(envelope);
+                checkpoint = envelope.position();
+            }
+        } while (batch.size() == batchSize);
+        return checkpoint;
+    }
+
+    /**
+     * The history is that of the envelope's aggregate, so it can be rebuilt up to the envelope's version only if
+     * the saga is identified by that aggregate and the store reports versions; other events are replayed to the
+     * sagas in memory, and a saga they miss is rebuilt once its deadline fires.
+     */
+    private void tailEnvelope(EventEnvelope envelope) {
+        if (!handles(envelope)) return;
+        DomainEvent event = envelope.event();
+        ID sagaId = sagaIdOf(event);
+        if (sagaId == null) return;
+        if (envelope.version() > 0 && sagaId.equals(envelope.aggregateId())) {
+            dispatchTail(sagaId, event, envelope.version());
+        } else {
+            dispatchReplay(sagaId, event);
         }
     }
 
+    /**
+     * Rebuild a saga from its history, scheduling its deadline if it has one. The history is replayed, so
+     * nothing in it is recorded again and a deadline that passed fires through {@link Saga#onDeadline()}
+     * rather than while rebuilding.
+     *
+     * @return the saga, or null if its history does not start one or it already completed
+     */
+    protected S restore(ID sagaId) {
+        return restore(sagaId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #restore(Object)}, replaying only the first {@code events} events of the history, e.g. those
+     * up to the event the store is tailed at, so that the tail does not hand the saga the later ones twice.
+     */
+    protected S restore(ID sagaId, long events) {
+        List<DomainEvent> recorded = history.apply(sagaId);
+        for (DomainEvent event : recorded.subList(0, (int) Math.min(events, recorded.size()))) {
+            dispatchReplay(sagaId, event);
+        }
+        return sagas.get(sagaId);
+    }
+
+    private void trackDeadline(ID sagaId, S saga) {
+        if (deadlines == null) return;
+        Instant deadline = saga.isCompleted() ? null : saga.deadline();
+        if (deadline == null) {
+            deadlines.cancel(sagaId);
+        } else {
+            deadlines.schedule(sagaId, deadline);
+        }
+    }
+
+    protected boolean handles(EventEnvelope envelope) {
+        for (Class<? extends DomainEvent> type : handledTypes) {
+            if (envelope.is(type)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drop the matching sagas from memory together with their deadlines, e.g. once another node owns them.
+     */
+    public void evict(Predicate<ID> which) {
+        for (ID sagaId : List.copyOf(sagas.keySet())) {
+            if (!which.test(sagaId)) continue;
+            sagas.remove(sagaId);
+            if (deadlines != null) deadlines.cancel(sagaId);
+        }
+    }
+
+    protected boolean isActive(ID sagaId) {
+        return sagas.containsKey(sagaId);
+    }
+
+    protected int activeCount() {
+        return sagas.size();
+    }
+
     public Map<ID, S> getActiveSagas() {
         return Map.copyOf(sagas);
     }
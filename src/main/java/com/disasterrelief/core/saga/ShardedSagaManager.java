@@ -0,0 +1,110 @@
+package com.disasterrelief.core.saga;
+
+import com.disasterrelief.core.deadline.DeadlineScheduler;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.shard.OpenSagaSource;
+import com.disasterrelief.core.shard.ShardLeaseManager;
+import com.disasterrelief.core.shard.ShardListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ConcurrentSagaManager} for one of several nodes, which handles only the sagas of the shards this
+ * node leases from the {@link ShardLeaseManager}. Events and deadlines of other shards are ignored, so every
+ * node may be fed the whole event stream. When the node loses shards it drops their sagas from memory; when
+ * it gains shards it rebuilds their open sagas from their history, replayed without side effects, finding
+ * them through an {@link OpenSagaSource} that pages through those shards only rather than by replaying the
+ * store.
+ */
+public class ShardedSagaManager<S extends Saga<UUID>> extends ConcurrentSagaManager<UUID, S> implements ShardListener {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final ShardLeaseManager leases;
+    private final OpenSagaSource openSagas;
+
+    /**
+     * See {@link ConcurrentSagaManager#ConcurrentSagaManager(Function, BiFunction, Predicate, Set,
+     * DeadlineScheduler, Function, int)}.
+     *
+     * @param openSagas the open sagas by shard, e.g. {@code SagaDeadlineRepository}
+     */
+    public ShardedSagaManager(Function<DomainEvent, UUID> sagaIdExtractor,
+                              BiFunction<UUID, DomainEvent, S> sagaFactory,
+                              Predicate<DomainEvent> isStartingEvent,
+                              Set<Class<? extends DomainEvent>> handledTypes,
+                              DeadlineScheduler<UUID> deadlines,
+                              Function<UUID, List<DomainEvent>> history,
+                              ShardLeaseManager leases,
+                              OpenSagaSource openSagas) {
+        super(sagaIdExtractor, sagaFactory, isStartingEvent, handledTypes, deadlines, history, DEFAULT_STRIPES);
+        this.leases = leases;
+        this.openSagas = openSagas;
+        leases.addListener(this);
+    }
+
+    @Override
+    protected void dispatch(UUID sagaId, DomainEvent event) {
+        if (!leases.owns(sagaId)) return;
+        super.dispatch(sagaId, event);
+    }
+
+    @Override
+    protected void dispatchReplay(UUID sagaId, DomainEvent event) {
+        if (!leases.owns(sagaId)) return;
+        super.dispatchReplay(sagaId, event);
+    }
+
+    @Override
+    protected void dispatchTail(UUID sagaId, DomainEvent event, long version) {
+        if (!leases.owns(sagaId)) return;
+        super.dispatchTail(sagaId, event, version);
+    }
+
+    /**
+     * Deadlines of sagas this node no longer owns are dropped; their new owner has its own.
+     */
+    @Override
+    protected void fireDeadline(UUID sagaId) {
+        if (!leases.owns(sagaId)) return;
+        super.fireDeadline(sagaId);
+    }
+
+    @Override
+    public void onShardsChanged(Set<Integer> gained, Set<Integer> lost) {
+        if (!lost.isEmpty()) {
+            evict(sagaId -> lost.contains(leases.shardOf(sagaId)));
+        }
+        if (!gained.isEmpty()) {
+            adopt(gained);
+        }
+    }
+
+    /**
+     * Rebuilds the open sagas of {@code shards} that are not in memory yet.
+     *
+     * @return the number of sagas rebuilt
+     */
+    public int adopt(Set<Integer> shards) {
+        int adopted = 0;
+        UUID cursor = null;
+        List<UUID> page;
+        do {
+            page = openSagas.findOpen(shards, leases.shardCount(), cursor, PAGE_SIZE);
+            for (UUID sagaId : page) {
+                if (isActive(sagaId)) continue;
+                runExclusively(sagaId, () -> {
+                    if (!isActive(sagaId)) restore(sagaId);
+                });
+                adopted++;
+            }
+            if (!page.isEmpty()) cursor = page.getLast();
+        } while (page.size() == PAGE_SIZE);
+        return adopted;
+    }
+}
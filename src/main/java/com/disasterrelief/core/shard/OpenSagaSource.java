@@ -0,0 +1,18 @@
+package com.disasterrelief.core.shard;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The open sagas of some shards, read in pages by {@code ShardedSagaManager} when its node gains them.
+ */
+public interface OpenSagaSource {
+
+    /**
+     * Up to {@code limit} ids of open sagas whose {@link ShardAssignment#shardOf shard} out of
+     * {@code shardCount} is one of {@code shards}, in the source's id order, starting after {@code after}, or
+     * from the first if it is null.
+     */
+    List<UUID> findOpen(Set<Integer> shards, int shardCount, UUID after, int limit);
+}
@@ -0,0 +1,57 @@
+package com.disasterrelief.core.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Maps saga ids to a fixed number of shards, and shards to nodes by rendezvous (highest random weight)
+ * hashing: every node scores every shard and the highest score owns it. When a node joins it takes over only
+ * the shards it now outscores the others on, and when one leaves only its shards move, spread over the rest.
+ * Both hashes depend on nothing but their inputs, so every node computes the same assignment.
+ *
+ * <p>A saga's shard is the low 32 bits of its id, which are random in both v4 and v7 UUIDs, modulo the shard
+ * count: simple enough for the database to compute too, as {@code SagaDeadlineRepository} does to page through
+ * the open sagas of a shard.
+ */
+public final class ShardAssignment {
+
+    private ShardAssignment() {
+    }
+
+    public static int shardOf(UUID sagaId, int shardCount) {
+        return (int) ((sagaId.getLeastSignificantBits() & 0xffffffffL) % shardCount);
+    }
+
+    /**
+     * The node that should own {@code shard}, or null if there are none.
+     */
+    public static String ownerOf(int shard, Collection<String> nodes) {
+        String owner = null;
+        long best = 0;
+        for (String node : nodes) {
+            long weight = mix(nodeHash(node) * 31 + shard);
+            if (owner == null || Long.compareUnsigned(weight, best) > 0
+                    || (weight == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = weight;
+            }
+        }
+        return owner;
+    }
+
+    private static long nodeHash(String node) {
+        long hash = 1125899906842597L;
+        for (byte b : node.getBytes(StandardCharsets.UTF_8)) {
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
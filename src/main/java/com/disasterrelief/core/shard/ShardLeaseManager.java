@@ -0,0 +1,173 @@
+package com.disasterrelief.core.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds this node's share of the saga shards as leases in {@code saga_shard_leases}. Each heartbeat registers
+ * the node in {@code saga_nodes}, works out from the nodes that have recently beaten which shards belong here
+ * ({@link ShardAssignment}), gives up the leases of any others and takes or renews the leases of its own. A
+ * shard still leased to another node is taken once that node gives it up or its lease expires, so a joining
+ * node receives its shards within a heartbeat or two and the shards of a node that died move once its leases
+ * run out. All times are the database's, so nodes need not agree on the time.
+ *
+ * <p>A node treats its leases as lost once a full lease period has passed since the heartbeat that renewed
+ * them began, even if it could not reach the database to find out, so that it stops before anyone else may
+ * have taken over.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sagas.sharding.enabled", havingValue = "true")
+public class ShardLeaseManager implements Closeable {
+
+    private static final String BEAT = """
+            insert into saga_nodes (node_id, heartbeat_at) values (?, now())
+            on conflict (node_id) do update set heartbeat_at = now()""";
+
+    private static final String LIVE_NODES = """
+            select node_id from saga_nodes where heartbeat_at > now() - ? * interval '1 millisecond'""";
+
+    private static final String FORGET_DEAD_NODES = """
+            delete from saga_nodes where heartbeat_at < now() - ? * interval '1 millisecond'""";
+
+    private static final String RELEASE = """
+            update saga_shard_leases set owner = null
+            where owner = ? and shard <> all (cast(? as int[]))""";
+
+    private static final String ACQUIRE = """
+            insert into saga_shard_leases (shard, owner, expires_at)
+            select shard, ?, now() + ? * interval '1 millisecond' from unnest(cast(? as int[])) shard
+            on conflict (shard) do update set owner = excluded.owner, expires_at = excluded.expires_at
+            where saga_shard_leases.owner = excluded.owner
+               or saga_shard_leases.owner is null
+               or saga_shard_leases.expires_at < now()
+            returning shard""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final int shardCount;
+    private final long leaseMillis;
+    private final List<ShardListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Set<Integer> owned = Set.of();
+    private volatile long validUntilNanos;
+
+    public ShardLeaseManager(JdbcTemplate jdbcTemplate,
+                             @Value("${sagas.sharding.node-id:}") String nodeId,
+                             @Value("${sagas.sharding.shard-count:64}") int shardCount,
+                             @Value("${sagas.sharding.lease-duration:10s}") Duration leaseDuration) {
+        if (shardCount <= 0) throw new IllegalArgumentException("shardCount must be positive");
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.shardCount = shardCount;
+        this.leaseMillis = leaseDuration.toMillis();
+    }
+
+    public void addListener(ShardListener listener) {
+        listeners.add(listener);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(UUID sagaId) {
+        return ShardAssignment.shardOf(sagaId, shardCount);
+    }
+
+    /**
+     * Whether this node currently holds the lease of the saga's shard.
+     */
+    public boolean owns(UUID sagaId) {
+        return ownedShards().contains(shardOf(sagaId));
+    }
+
+    public Set<Integer> ownedShards() {
+        return System.nanoTime() - validUntilNanos < 0 ? owned : Set.of();
+    }
+
+    @Scheduled(fixedDelayString = "${sagas.sharding.heartbeat-interval:3s}")
+    public synchronized void heartbeat() {
+        long startedAt = System.nanoTime();
+        Set<Integer> previous = owned;
+        Set<Integer> current;
+        try {
+            jdbcTemplate.update(BEAT, nodeId);
+            jdbcTemplate.update(FORGET_DEAD_NODES, leaseMillis * 10);
+            List<String> nodes = jdbcTemplate.queryForList(LIVE_NODES, String.class, leaseMillis);
+
+            Set<Integer> assigned = new HashSet<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (nodeId.equals(ShardAssignment.ownerOf(shard, nodes))) assigned.add(shard);
+            }
+            String shards = intArray(assigned);
+            jdbcTemplate.update(RELEASE, nodeId, shards);
+            current = Set.copyOf(jdbcTemplate.queryForList(ACQUIRE, Integer.class, nodeId, leaseMillis, shards));
+        } catch (RuntimeException e) {
+            log.warn("Shard heartbeat of node {} failed; keeping its leases until they run out", nodeId, e);
+            if (ownedShards().isEmpty() && !previous.isEmpty()) {
+                owned = Set.of();
+                notifyListeners(previous, Set.of());
+            }
+            return;
+        }
+        owned = current;
+        validUntilNanos = startedAt + leaseMillis * 1_000_000;
+        notifyListeners(previous, current);
+    }
+
+    /**
+     * Gives up all leases and leaves, so that the other nodes take over on their next heartbeat instead of
+     * waiting for the leases to run out.
+     */
+    @Override
+    public synchronized void close() {
+        Set<Integer> previous = owned;
+        owned = Set.of();
+        try {
+            jdbcTemplate.update("update saga_shard_leases set owner = null where owner = ?", nodeId);
+            jdbcTemplate.update("delete from saga_nodes where node_id = ?", nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Node {} could not give up its shard leases", nodeId, e);
+        }
+        notifyListeners(previous, Set.of());
+    }
+
+    private void notifyListeners(Set<Integer> previous, Set<Integer> current) {
+        Set<Integer> gained = new HashSet<>(current);
+        gained.removeAll(previous);
+        Set<Integer> lost = new HashSet<>(previous);
+        lost.removeAll(current);
+        if (gained.isEmpty() && lost.isEmpty()) return;
+        log.info("Node {} gained shards {} and lost {}", nodeId, gained, lost);
+        for (ShardListener listener : listeners) {
+            try {
+                listener.onShardsChanged(Set.copyOf(gained), Set.copyOf(lost));
+            } catch (RuntimeException e) {
+                log.error("Shard listener failed", e);
+            }
+        }
+    }
+
+    private static String intArray(Set<Integer> values) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        values.forEach(value -> literal.add(value.toString()));
+        return literal.toString();
+    }
+}
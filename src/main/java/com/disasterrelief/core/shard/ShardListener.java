@@ -0,0 +1,12 @@
+package com.disasterrelief.core.shard;
+
+import java.util.Set;
+
+/**
+ * Told by {@link ShardLeaseManager} when this node's shards change, after the leases have been taken or given
+ * up.
+ */
+public interface ShardListener {
+
+    void onShardsChanged(Set<Integer> gained, Set<Integer> lost);
+}
@@ -0,0 +1,22 @@
+package com.disasterrelief.core.snapshot;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemorySnapshotStore implements SnapshotStore {
+
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Snapshot> findLatest(UUID aggregateId) {
+        return Optional.ofNullable(snapshots.get(aggregateId));
+    }
+
+    @Override
+    public void save(Snapshot snapshot) {
+        snapshots.merge(snapshot.aggregateId(), snapshot,
+                (existing, candidate) -> candidate.version() > existing.version() ? candidate : existing);
+    }
+}
@@ -0,0 +1,33 @@
+package com.disasterrelief.core.snapshot;
+
+import com.disasterrelief.commandcenter.persistence.JpaPersistedSnapshotRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "eventstore.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaSnapshotStore implements SnapshotStore {
+
+    private final JpaPersistedSnapshotRepository repository;
+
+    public JpaSnapshotStore(JpaPersistedSnapshotRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Snapshot> findLatest(UUID aggregateId) {
+        return repository.findById(aggregateId)
+                .map(s -> new Snapshot(s.getAggregateId(), s.getVersion(), s.getState(), s.getCreatedAt()));
+    }
+
+    @Override
+    @Transactional
+    public void save(Snapshot snapshot) {
+        repository.upsertIfNewer(snapshot.aggregateId(), snapshot.version(), snapshot.state(), snapshot.createdAt());
+    }
+}
@@ -0,0 +1,30 @@
+package com.disasterrelief.core.snapshot;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Latest snapshot per aggregate; older snapshots are overwritten.
+ */
+@Entity
+@Table(name = "aggregate_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersistedSnapshot {
+
+  @Id private UUID aggregateId;
+
+  @Column(nullable = false)
+  private long version;
+
+  @Column(nullable = false, columnDefinition = "text")
+  private String state;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+}
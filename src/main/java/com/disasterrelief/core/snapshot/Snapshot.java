@@ -0,0 +1,10 @@
+package com.disasterrelief.core.snapshot;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Serialized state of an aggregate as of {@code version}; only events after that version need replaying.
+ */
+public record Snapshot(UUID aggregateId, long version, String state, Instant createdAt) {
+}
@@ -0,0 +1,16 @@
+package com.disasterrelief.core.snapshot;
+
+/**
+ * Takes a snapshot each time an aggregate's version crosses a multiple of {@code everyEvents},
+ * so at most that many events are replayed on top of the latest snapshot.
+ */
+public record SnapshotPolicy(int everyEvents) {
+
+    public SnapshotPolicy {
+        if (everyEvents <= 0) throw new IllegalArgumentException("everyEvents must be positive");
+    }
+
+    public boolean shouldSnapshot(long versionBefore, long versionAfter) {
+        return versionAfter / everyEvents > versionBefore / everyEvents;
+    }
+}
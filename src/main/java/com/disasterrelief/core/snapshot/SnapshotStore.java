@@ -0,0 +1,17 @@
+package com.disasterrelief.core.snapshot;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SnapshotStore {
+
+    /**
+     * The most recent snapshot of the aggregate, if one was taken.
+     */
+    Optional<Snapshot> findLatest(UUID aggregateId);
+
+    /**
+     * Stores the snapshot unless a snapshot with the same or a higher version already exists.
+     */
+    void save(Snapshot snapshot);
+}
@@ -0,0 +1,91 @@
+package com.disasterrelief.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Append-only sequence stored in fixed-size chunks, for many concurrent readers and a single writer at a time.
+ *
+ * <p>Appends are not synchronized: callers serialize them, as a repository that appends to several logs in one
+ * step does anyway. A writer stores the element at the next index, then publishes it by advancing the volatile
+ * {@code size}, so elements become visible as a contiguous prefix. Readers never block or lock:
+ * {@link #snapshot()} captures the published size and returns an immutable view of that prefix that later
+ * appends do not affect.
+ */
+public class AppendOnlyLog<T> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile long size;
+    private volatile Object[][] chunks = new Object[4][];
+
+    /**
+     * Appends the element created for the next index and returns that index. Must not run concurrently with
+     * another append; if the factory throws, nothing is appended.
+     */
+    public long append(LongFunction<T> factory) {
+        long index = size;
+        T element = factory.apply(index);
+        chunkFor(index)[(int) (index & CHUNK_MASK)] = element;
+        size = index + 1;
+        return index;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Immutable view of the elements published so far.
+     */
+    public List<T> snapshot() {
+        int published = Math.toIntExact(size);
+        return new Snapshot<>(chunks, published);
+    }
+
+    /**
+     * Called by the one appending thread, so the directory has a single writer; readers see it through the
+     * volatile field, and every chunk they need was installed before the size that covers it.
+     */
+    private Object[] chunkFor(long index) {
+        int chunkIndex = Math.toIntExact(index >>> CHUNK_BITS);
+        Object[][] directory = chunks;
+        if (chunkIndex >= directory.length) {
+            directory = Arrays.copyOf(directory, directory.length * 2);
+        }
+        if (directory[chunkIndex] == null) {
+            directory[chunkIndex] = new Object[CHUNK_SIZE];
+            chunks = directory;
+        }
+        return directory[chunkIndex];
+    }
+
+    private static final class Snapshot<T> extends AbstractList<T> {
+
+        private final Object[][] chunks;
+        private final int size;
+
+        private Snapshot(Object[][] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return (T) chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.disasterrelief.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.ser.std.UUIDSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.InstantSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Text serializers for the two value types every event carries, writing the same JSON as the stock ones but
+ * formatting into a per-thread char buffer: the stock {@link UUIDSerializer} allocates a {@code char[]} per
+ * UUID and {@link InstantSerializer} a {@code BigDecimal} and its String per timestamp. Other formats (Smile,
+ * CBOR, token buffers) and any setting the fast path does not cover fall through to the stock serializers.
+ * Register after {@code JavaTimeModule} so that these take precedence.
+ */
+public class EventSerializationModule extends SimpleModule {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[36]);
+
+    public EventSerializationModule() {
+        super("EventSerializationModule");
+        addSerializer(UUID.class, new FastUuidSerializer());
+        addSerializer(Instant.class, new FastInstantSerializer());
+    }
+
+    private static final class FastUuidSerializer extends StdSerializer<UUID> {
+
+        private final UUIDSerializer fallback = new UUIDSerializer();
+
+        private FastUuidSerializer() {
+            super(UUID.class);
+        }
+
+        @Override
+        public void serialize(UUID value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (!(gen instanceof JsonGeneratorImpl)) {
+                fallback.serialize(value, gen, provider);
+                return;
+            }
+            char[] chars = buffers.get();
+            long msb = value.getMostSignificantBits();
+            long lsb = value.getLeastSignificantBits();
+            hex(chars, 0, msb >>> 32, 8);
+            chars[8] = '-';
+            hex(chars, 9, msb >>> 16, 4);
+            chars[13] = '-';
+            hex(chars, 14, msb, 4);
+            chars[18] = '-';
+            hex(chars, 19, lsb >>> 48, 4);
+            chars[23] = '-';
+            hex(chars, 24, lsb, 12);
+            gen.writeString(chars, 0, 36);
+        }
+
+        private static void hex(char[] chars, int offset, long bits, int digits) {
+            for (int i = offset + digits - 1; i >= offset; i--) {
+                chars[i] = HEX[(int) (bits & 0xf)];
+                bits >>>= 4;
+            }
+        }
+    }
+
+    /**
+     * Writes {@code seconds.nanoseconds} with all nine fraction digits, as the stock serializer does for
+     * non-negative instants by default.
+     */
+    private static final class FastInstantSerializer extends StdSerializer<Instant> {
+
+        private FastInstantSerializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public void serialize(Instant value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            long seconds = value.getEpochSecond();
+            if (seconds < 0
+                    || !(gen instanceof JsonGeneratorImpl)
+                    || !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    || !provider.isEnabled(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)) {
+                InstantSerializer.INSTANCE.serialize(value, gen, provider);
+                return;
+            }
+            char[] chars = buffers.get();
+            int end = 36;
+            int nanos = value.getNano();
+            for (int i = 0; i < 9; i++) {
+                chars[--end] = (char) ('0' + nanos % 10);
+                nanos /= 10;
+            }
+            chars[--end] = '.';
+            do {
+                chars[--end] = (char) ('0' + seconds % 10);
+                seconds /= 10;
+            } while (seconds > 0);
+            gen.writeNumber(chars, end, 36 - end);
+        }
+    }
+}
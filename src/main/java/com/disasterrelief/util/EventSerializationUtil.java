@@ -1,24 +1,106 @@
 package com.disasterrelief.util;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
+import java.io.ByteArrayOutputStream;
+
+/**
+ * JSON mapping of events and aggregate state. Readers and writers are resolved once per class, Blackbird replaces
+ * reflective accessor calls with generated lambdas, UUIDs and instants are formatted without garbage
+ * ({@link EventSerializationModule}) and byte output goes through a per-thread buffer, so that a steady stream of
+ * serializations allocates little beyond the returned arrays.
+ */
 public class EventSerializationUtil {
     private static final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule());
+            .registerModule(new JavaTimeModule())
+            .registerModule(new EventSerializationModule())
+            .registerModule(new BlackbirdModule());
+
+    private static final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return objectMapper.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return objectMapper.writerFor(type);
+        }
+    };
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<OutputBuffer> buffers = ThreadLocal.withInitial(OutputBuffer::new);
 
     public static String serialize(Object event) {
         try {
-            return objectMapper.writeValueAsString(event);
+            return writers.get(event.getClass()).writeValueAsString(event);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize event", e);
+        }
+    }
+
+    /**
+     * UTF-8 JSON of the event, without an intermediate String.
+     */
+    public static byte[] serializeToBytes(Object event) {
+        return writeToBytes(writers.get(event.getClass()), event);
+    }
+
+    /**
+     * Writes the value with the given writer (of any format) into this thread's reusable buffer and returns a
+     * copy of the result.
+     */
+    public static byte[] writeToBytes(ObjectWriter writer, Object value) {
+        OutputBuffer buffer = buffers.get();
+        buffer.reset();
+        try {
+            writer.writeValue(buffer, value);
+            return buffer.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize event", e);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            }
         }
     }
 
+    /**
+     * Reader bound to one type, for callers that deserialize the same type repeatedly.
+     */
+    public static ObjectReader readerFor(Class<?> clazz) {
+        return readers.get(clazz);
+    }
+
     public static <T> T deserialize(String json, Class<T> clazz) {
         try {
-            return objectMapper.readValue(json, clazz);
+            return readers.get(clazz).readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize event", e);
+        }
+    }
+
+    public static <T> T deserialize(byte[] json, Class<T> clazz) {
+        try {
+            return readers.get(clazz).readValue(json);
         } catch (Exception e) {
             throw new RuntimeException("Failed to deserialize event", e);
         }
     }
+
+    private static final class OutputBuffer extends ByteArrayOutputStream {
+
+        OutputBuffer() {
+            super(1024);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
 }
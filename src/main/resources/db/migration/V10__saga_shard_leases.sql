@@ -0,0 +1,15 @@
+-- Saga shard ownership across service instances, kept by ShardLeaseManager. Nodes register with a heartbeat;
+-- each shard is leased to at most one node at a time, until expires_at or until the node gives it up.
+
+create table saga_nodes (
+    node_id      varchar(100)                not null primary key,
+    heartbeat_at timestamp(6) with time zone not null
+);
+
+create table saga_shard_leases (
+    shard      int                         not null primary key,
+    owner      varchar(100),
+    expires_at timestamp(6) with time zone not null
+);
+
+create index idx_saga_shard_leases_owner on saga_shard_leases (owner);
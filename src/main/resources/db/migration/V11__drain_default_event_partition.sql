@@ -0,0 +1,29 @@
+-- A row in persisted_events_default (e.g. written with a skewed clock) made create_persisted_events_partition
+-- fail for its month, because Postgres refuses a new partition whose range the default partition already
+-- holds rows of. The new partition is now built detached, the month's rows are moved into it from the
+-- default partition, and it is attached afterwards, all in the caller's transaction.
+
+create or replace function create_persisted_events_partition(for_month date) returns text
+language plpgsql as $$
+declare
+    lower_bound    timestamptz := date_trunc('month', for_month::timestamp) at time zone 'UTC';
+    upper_bound    timestamptz := (date_trunc('month', for_month::timestamp) + interval '1 month') at time zone 'UTC';
+    partition_name text        := format('persisted_events_p%s', to_char(for_month, 'YYYY_MM'));
+    moved          bigint;
+begin
+    if to_regclass(quote_ident(partition_name)) is not null then
+        return partition_name;
+    end if;
+    execute format('create table %I (like persisted_events including defaults including constraints)',
+                   partition_name);
+    execute format('with moved as (delete from persisted_events_default where created_at >= %L and created_at < %L '
+                   'returning *) insert into %I select * from moved', lower_bound, upper_bound, partition_name);
+    get diagnostics moved = row_count;
+    if moved > 0 then
+        raise notice 'Moved % events from persisted_events_default into %', moved, partition_name;
+    end if;
+    execute format('alter table persisted_events attach partition %I for values from (%L) to (%L)',
+                   partition_name, lower_bound, upper_bound);
+    return partition_name;
+end;
+$$;
@@ -0,0 +1,4 @@
+-- GET /teams/{teamId}/commands without a status: the (team_id, status, issued_at desc) index cannot return a
+-- team's commands across statuses in issued_at order, so the query sorted every command of the team.
+
+create index idx_command_status_team_issued on command_status (team_id, issued_at desc);
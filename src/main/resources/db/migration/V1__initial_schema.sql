@@ -0,0 +1,72 @@
+-- Schema as previously generated by Hibernate (ddl-auto). Idempotent so that databases created that way
+-- can be brought under Flyway with baseline-on-migrate, whichever ddl-auto schema they were created with:
+-- the first one has no version or global_position, so both are added and backfilled here.
+
+create table if not exists persisted_events (
+    id            uuid                        not null primary key,
+    saga_id       uuid                        not null,
+    event_type    varchar(255)                not null,
+    event_payload oid                         not null,
+    created_at    timestamp(6) with time zone not null
+);
+
+create sequence if not exists persisted_events_global_position_seq;
+
+alter table persisted_events
+    add column if not exists version bigint,
+    add column if not exists global_position bigint;
+
+-- Versions count each saga's events in creation order; positions number all events in creation order after
+-- any that already have one.
+update persisted_events e
+set version = numbered.version
+from (select id, row_number() over (partition by saga_id order by created_at, id) as version
+      from persisted_events) numbered
+where e.id = numbered.id
+  and e.version is null;
+
+update persisted_events e
+set global_position = numbered.global_position
+from (select id,
+             (select coalesce(max(global_position), 0) from persisted_events)
+                 + row_number() over (order by created_at, id) as global_position
+      from persisted_events
+      where global_position is null) numbered
+where e.id = numbered.id;
+
+-- Moves the sequence past the positions in use, unless it already is.
+select setval('persisted_events_global_position_seq', max(global_position))
+from persisted_events
+having max(global_position) >= nextval('persisted_events_global_position_seq');
+
+alter sequence persisted_events_global_position_seq owned by persisted_events.global_position;
+
+alter table persisted_events
+    alter column version set not null,
+    alter column global_position set not null,
+    alter column global_position set default nextval('persisted_events_global_position_seq');
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint
+                   where conrelid = 'persisted_events'::regclass
+                     and conname = 'uk_persisted_events_saga_version') then
+        alter table persisted_events add constraint uk_persisted_events_saga_version unique (saga_id, version);
+    end if;
+    if not exists (select 1 from pg_index i
+                   join pg_attribute a on a.attrelid = i.indrelid and a.attnum = i.indkey[0]
+                   where i.indrelid = 'persisted_events'::regclass
+                     and i.indisunique
+                     and i.indnatts = 1
+                     and a.attname = 'global_position') then
+        alter table persisted_events add constraint uk_persisted_events_global_position unique (global_position);
+    end if;
+end;
+$$;
+
+create table if not exists aggregate_snapshots (
+    aggregate_id uuid                        not null primary key,
+    version      bigint                      not null,
+    state        text                        not null,
+    created_at   timestamp(6) with time zone not null
+);
@@ -0,0 +1,105 @@
+-- Range-partitions persisted_events by month of created_at, so old incidents can be detached without
+-- rewriting the table.
+--
+-- A partitioned table can only enforce uniqueness on keys that include the partition key, so the
+-- (saga_id, version) constraint moves to event_streams: one row per stream holding its current version,
+-- advanced by a conditional upsert in the same transaction as the append. Global positions keep coming from
+-- the existing sequence and stay unique by construction.
+
+alter table persisted_events rename to persisted_events_unpartitioned;
+alter sequence persisted_events_global_position_seq owned by none;
+
+create table persisted_events (
+    id              uuid                        not null,
+    saga_id         uuid                        not null,
+    global_position bigint                      not null default nextval('persisted_events_global_position_seq'),
+    version         bigint                      not null,
+    event_type      varchar(255)                not null,
+    event_payload   oid                         not null,
+    created_at      timestamp(6) with time zone not null,
+    constraint persisted_events_pk primary key (id, created_at)
+) partition by range (created_at);
+
+create index idx_persisted_events_saga_version on persisted_events (saga_id, version);
+create index idx_persisted_events_global_position on persisted_events (global_position);
+create index idx_persisted_events_created_at on persisted_events (created_at);
+
+-- Catches rows outside every monthly partition (e.g. clock skew); maintenance keeps it empty.
+create table persisted_events_default partition of persisted_events default;
+
+create table event_streams (
+    stream_id uuid   not null primary key,
+    version   bigint not null
+);
+
+-- Creates the partition holding the UTC calendar month of the given day, if missing. Returns its name.
+create or replace function create_persisted_events_partition(for_month date) returns text
+language plpgsql as $$
+declare
+    lower_bound    timestamptz := date_trunc('month', for_month::timestamp) at time zone 'UTC';
+    upper_bound    timestamptz := (date_trunc('month', for_month::timestamp) + interval '1 month') at time zone 'UTC';
+    partition_name text        := format('persisted_events_p%s', to_char(for_month, 'YYYY_MM'));
+begin
+    execute format('create table if not exists %I partition of persisted_events for values from (%L) to (%L)',
+                   partition_name, lower_bound, upper_bound);
+    return partition_name;
+end;
+$$;
+
+-- Ensures partitions exist from the current month through months_ahead months from now.
+create or replace function ensure_persisted_events_partitions(months_ahead int) returns void
+language plpgsql as $$
+begin
+    for i in 0..months_ahead loop
+        perform create_persisted_events_partition(((now() at time zone 'UTC') + make_interval(months => i))::date);
+    end loop;
+end;
+$$;
+
+-- Detaches (but keeps) monthly partitions that end on or before the cutoff. Returns the detached tables,
+-- which can then be archived and dropped.
+create or replace function detach_persisted_events_partitions(cutoff timestamptz) returns setof text
+language plpgsql as $$
+declare
+    partition_name text;
+begin
+    for partition_name in
+        select c.relname
+        from pg_inherits i
+        join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'persisted_events'::regclass
+          and c.relname ~ '^persisted_events_p\d{4}_\d{2}$'
+          and (to_date(substr(c.relname, 19), 'YYYY_MM') + interval '1 month') at time zone 'UTC' <= cutoff
+        order by c.relname
+    loop
+        execute format('alter table persisted_events detach partition %I', partition_name);
+        return next partition_name;
+    end loop;
+end;
+$$;
+
+-- Partitions for the months already holding events, plus the next few months.
+do $$
+declare
+    for_month date;
+begin
+    for for_month in
+        select distinct date_trunc('month', created_at at time zone 'UTC')::date
+        from persisted_events_unpartitioned
+    loop
+        perform create_persisted_events_partition(for_month);
+    end loop;
+    perform ensure_persisted_events_partitions(3);
+end;
+$$;
+
+insert into persisted_events (id, saga_id, global_position, version, event_type, event_payload, created_at)
+select id, saga_id, global_position, version, event_type, event_payload, created_at
+from persisted_events_unpartitioned;
+
+insert into event_streams (stream_id, version)
+select saga_id, max(version)
+from persisted_events_unpartitioned
+group by saga_id;
+
+drop table persisted_events_unpartitioned;
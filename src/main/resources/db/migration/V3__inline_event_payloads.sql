@@ -0,0 +1,19 @@
+-- Event payloads move out of large objects into inline columns: jsonb by default, bytea for payloads written
+-- with eventstore.payload.storage=BYTEA. Exactly one of the two is set on every row.
+--
+-- The existing large objects are copied into the jsonb column and then unlinked. Partitions detached by
+-- retention before this migration are not attached, so they keep their oid column.
+
+create temporary table migrated_payload_objects on commit drop as
+    select event_payload as object_id from persisted_events;
+
+alter table persisted_events
+    alter column event_payload type jsonb using convert_from(lo_get(event_payload), 'UTF8')::jsonb,
+    alter column event_payload drop not null,
+    add column event_payload_bytes bytea,
+    add constraint ck_persisted_events_payload check (num_nonnulls(event_payload, event_payload_bytes) = 1);
+
+select lo_unlink(object_id) from migrated_payload_objects;
+
+-- jsonb_path_ops supports containment (@>) only, at a fraction of the size of the default operator class
+create index idx_persisted_events_payload on persisted_events using gin (event_payload jsonb_path_ops);
@@ -0,0 +1,6 @@
+-- Id of the codec each payload was written with, so that stores mixing codecs stay readable. Existing rows
+-- are all JSON; a constant default does not rewrite the table.
+
+alter table persisted_events
+    add column codec varchar(16) not null default 'json',
+    add constraint ck_persisted_events_jsonb_codec check (event_payload is null or codec = 'json');
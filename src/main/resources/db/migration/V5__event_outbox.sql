@@ -0,0 +1,12 @@
+-- Transactional outbox: a row per appended event, written in the append's transaction and deleted by the
+-- relay once the event has been published. The id orders rows for publishing; appends to one aggregate are
+-- serialized by its event_streams row, so their outbox rows are numbered in commit order.
+
+create table event_outbox (
+    id           bigserial                   not null primary key,
+    event_id     uuid                        not null,
+    aggregate_id uuid                        not null,
+    event_type   varchar(255)                not null,
+    payload      bytea                       not null,
+    created_at   timestamp(6) with time zone not null
+);
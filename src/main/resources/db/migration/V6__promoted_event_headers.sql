@@ -0,0 +1,13 @@
+-- Header fields promoted out of the payload, so consumers can route and filter events without decoding them.
+-- Existing jsonb payloads are backfilled here; rows stored as bytea before this migration keep null headers
+-- (their payloads still carry the values).
+
+alter table persisted_events
+    add column team_id   uuid,
+    add column member_id uuid;
+
+update persisted_events
+set team_id   = (event_payload ->> 'teamId')::uuid,
+    member_id = (event_payload ->> 'memberId')::uuid
+where event_payload ->> 'teamId' is not null
+   or event_payload ->> 'memberId' is not null;
@@ -0,0 +1,8 @@
+-- Position of the last event each projection has applied. Updated in the same transaction as the projection's
+-- own writes, so a projection's tables always reflect exactly the events up to its checkpoint.
+
+create table projection_checkpoints (
+    projection varchar(100)                not null primary key,
+    position   bigint                      not null,
+    updated_at timestamp(6) with time zone not null
+);
@@ -0,0 +1,16 @@
+-- Denormalized status of every command, kept by CommandStatusProjection and read by the status endpoints.
+
+create table command_status (
+    command_id               uuid                        not null primary key,
+    team_id                  uuid                        not null,
+    status                   varchar(16)                 not null,
+    issued_at                timestamp(6) with time zone not null,
+    deadline                 timestamp(6) with time zone not null,
+    expected_acknowledgements int                        not null,
+    acknowledgements         int                         not null,
+    pending_member_ids       uuid[]                      not null,
+    updated_at               timestamp(6) with time zone not null
+);
+
+-- GET /teams/{teamId}/commands?status=..., newest first
+create index idx_command_status_team on command_status (team_id, status, issued_at desc);
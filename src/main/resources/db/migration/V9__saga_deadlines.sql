@@ -0,0 +1,38 @@
+-- Deadline of every open command saga, written in the append transaction by SagaDeadlineWriter. Rows are
+-- deleted once every expected member has acknowledged or the saga compensated, so the table holds open sagas
+-- only and a restart reads the deadlines due soon from the index instead of replaying the history.
+
+create table saga_deadlines (
+    saga_id            uuid                        not null primary key,
+    deadline           timestamp(6) with time zone not null,
+    pending_member_ids uuid[]                      not null
+);
+
+-- Keyset pages in deadline order
+create index idx_saga_deadlines_deadline on saga_deadlines (deadline, saga_id);
+
+-- Backfill the sagas open today from their jsonb payloads. Types are matched by code and by the class names
+-- older rows were stored under; deadlines are written as epoch seconds with a nanosecond fraction.
+insert into saga_deadlines (saga_id, deadline, pending_member_ids)
+select issued.saga_id,
+       to_timestamp((issued.event_payload ->> 'deadline')::numeric),
+       array(select member::uuid
+             from jsonb_array_elements_text(issued.event_payload -> 'expectedAcknowledgerIds') member
+             except
+             select ack.member_id
+             from persisted_events ack
+             where ack.saga_id = issued.saga_id
+               and ack.member_id is not null
+               and ack.event_type in ('command.acknowledged',
+                                      'com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent'))
+from persisted_events issued
+where issued.event_type in ('command.issued', 'com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent')
+  and issued.event_payload is not null
+  and not exists (select 1
+                  from persisted_events compensated
+                  where compensated.saga_id = issued.saga_id
+                    and compensated.event_type in ('saga.compensated',
+                                                   'com.disasterrelief.core.event.SagaCompensatedEvent'))
+on conflict (saga_id) do nothing;
+
+delete from saga_deadlines where cardinality(pending_member_ids) = 0;
@@ -0,0 +1,117 @@
+package com.disasterrelief.commandcenter.application;
+
+import com.disasterrelief.commandcenter.domain.aggregate.CommandAggregate;
+import com.disasterrelief.commandcenter.domain.command.AcknowledgeCommandCommand;
+import com.disasterrelief.commandcenter.domain.command.SendCommandToTeamCommand;
+import com.disasterrelief.commandcenter.domain.entity.TeamMember;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.event.TeamCreatedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.CommandStatus;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.commandcenter.readmodel.TeamRosterIndex;
+import com.disasterrelief.core.cache.AggregateCache;
+import com.disasterrelief.core.eventstore.ConcurrencyConflictException;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.eventstore.RecordedEvent;
+import com.disasterrelief.core.snapshot.InMemorySnapshotStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CommandServiceTest {
+
+    private EventStore eventStore;
+    private AggregateCache<CommandAggregate.State> cache;
+    private TeamRosterIndex roster;
+    private CommandService commandService;
+
+    private UUID commandId;
+    private UUID teamId;
+    private UUID memberId;
+
+    @BeforeEach
+    void setup() {
+        eventStore = mock(EventStore.class);
+        cache = new AggregateCache<>(100, Duration.ofMinutes(10), Clock.systemUTC());
+        roster = new TeamRosterIndex(eventStore, 100, false, Duration.ZERO);
+        commandService = new CommandService(eventStore, new InMemorySnapshotStore(), cache, roster, Clock.systemUTC(), 100);
+
+        commandId = UUID.randomUUID();
+        teamId = UUID.randomUUID();
+        memberId = UUID.randomUUID();
+    }
+
+    @Test
+    void reusesCachedAggregateAfterSuccessfulAppend() {
+        when(eventStore.readByAggregateId(commandId)).thenReturn(List.of());
+
+        commandService.sendCommand(sendCommand());
+        commandService.acknowledgeCommand(acknowledge());
+
+        verify(eventStore, times(1)).readByAggregateId(commandId);
+        verify(eventStore).append(anyList(), eq(1L));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.get(commandId).orElseThrow().version());
+    }
+
+    @Test
+    void reloadsFromEventStoreAndRetriesOnceOnConflict() {
+        cache.put(commandId, new CommandAggregate.State(commandId, teamId, "Evacuate", Instant.now(), CommandStatus.ISSUED), 0);
+        when(eventStore.readByAggregateId(commandId)).thenReturn(List.of(issuedEvent()));
+        doThrow(new ConcurrencyConflictException(commandId, 0, 1))
+                .when(eventStore).append(anyList(), eq(0L));
+
+        commandService.acknowledgeCommand(acknowledge());
+
+        verify(eventStore).append(anyList(), eq(1L));
+        assertEquals(2, cache.get(commandId).orElseThrow().version());
+    }
+
+    @Test
+    void rejectsMembersOutsideAKnownTeamWithoutReadingTheCommand() {
+        TeamCreatedEvent teamCreated = new TeamCreatedEvent(teamId, "Rescue A",
+                List.of(new TeamMember(memberId, "Alice", "lead")), UUID.randomUUID(), Instant.now());
+        when(eventStore.readEnvelopesFrom(0, 100))
+                .thenReturn(List.of(EventEnvelope.of(new RecordedEvent(1, teamCreated))));
+        roster.refresh();
+
+        AcknowledgeCommandCommand outsider = new AcknowledgeCommandCommand(commandId, teamId, UUID.randomUUID(),
+                Instant.now());
+
+        assertThrows(IllegalArgumentException.class, () -> commandService.acknowledgeCommand(outsider));
+        verify(eventStore, never()).readByAggregateId(any());
+        verify(eventStore, never()).append(anyList(), anyLong());
+    }
+
+    private SendCommandToTeamCommand sendCommand() {
+        return new SendCommandToTeamCommand(commandId, teamId, message(), Instant.now().plusSeconds(3600),
+                UUID.randomUUID(), Set.of(memberId));
+    }
+
+    private AcknowledgeCommandCommand acknowledge() {
+        return new AcknowledgeCommandCommand(commandId, teamId, memberId, Instant.now());
+    }
+
+    private CommandIssuedEvent issuedEvent() {
+        return new CommandIssuedEvent(commandId, teamId, message(), Instant.now(), Instant.now().plusSeconds(3600),
+                UUID.randomUUID(), Set.of(memberId));
+    }
+
+    private Message message() {
+        return new Message("Evacuate", UUID.randomUUID(), Instant.now());
+    }
+}
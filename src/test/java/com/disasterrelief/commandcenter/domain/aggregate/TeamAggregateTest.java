@@ -4,6 +4,7 @@ import com.disasterrelief.commandcenter.domain.command.CreateTeamCommand;
 import com.disasterrelief.commandcenter.domain.entity.TeamMember;
 import com.disasterrelief.core.event.DomainEvent;
 import com.disasterrelief.commandcenter.domain.event.TeamCreatedEvent;
+import com.disasterrelief.util.EventSerializationUtil;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -54,6 +55,32 @@ public class TeamAggregateTest {
       assertEquals("Medics", rehydrated.getName());
       assertEquals(1, rehydrated.getMembers().size());
     }
+
+    @Test
+    void shouldRehydrateFromSnapshotThroughSerializedState() {
+      UUID teamId = UUID.randomUUID();
+      List<TeamMember> members = List.of(new TeamMember(UUID.randomUUID(), "Alice", "1234567890"));
+
+      TeamCreatedEvent event =
+          new TeamCreatedEvent(
+              teamId, "Medics", members, UUID.randomUUID(), new java.util.Date().toInstant());
+      TeamAggregate original = TeamAggregate.rehydrate(List.of(event));
+
+      String json = EventSerializationUtil.serialize(original.toState());
+      TeamAggregate restored =
+          TeamAggregate.rehydrate(
+              EventSerializationUtil.deserialize(json, TeamAggregate.State.class),
+              original.getVersion(),
+              List.of());
+
+      assertEquals(1, restored.getVersion());
+      assertEquals(teamId, restored.getTeamId());
+      assertEquals("Medics", restored.getName());
+      assertEquals("Alice", restored.getMembers().get(0).getName());
+      assertThrows(
+          IllegalStateException.class,
+          () -> restored.handle(new CreateTeamCommand(teamId, "Medics", members, UUID.randomUUID())));
+    }
   }
 
   @Nested
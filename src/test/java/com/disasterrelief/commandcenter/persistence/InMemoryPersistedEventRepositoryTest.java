@@ -0,0 +1,87 @@
+package com.disasterrelief.commandcenter.persistence;
+
+import com.disasterrelief.core.eventstore.PersistedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryPersistedEventRepositoryTest {
+
+    private final InMemoryPersistedEventRepository repository = new InMemoryPersistedEventRepository();
+
+    @Test
+    void returnsSnapshotsThatLaterSavesDoNotChange() {
+        UUID sagaId = UUID.randomUUID();
+        repository.save(event(sagaId));
+        List<PersistedEvent> snapshot = repository.findBySagaId(sagaId);
+
+        repository.save(event(sagaId));
+
+        assertThat(snapshot).hasSize(1);
+        assertThat(repository.findBySagaId(sagaId)).extracting(PersistedEvent::getVersion).containsExactly(1L, 2L);
+        assertThat(repository.findBySagaId(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void keepsVersionsAndGlobalOrderConsistentUnderConcurrentWriters() throws Exception {
+        List<UUID> sagas = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        int writers = 8;
+        int eventsPerWriter = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<?> reader = executor.submit(() -> {
+                while (writing.get()) {
+                    for (UUID sagaId : sagas) {
+                        List<PersistedEvent> events = repository.findBySagaId(sagaId);
+                        for (int i = 0; i < events.size(); i++) {
+                            assertThat(events.get(i).getVersion()).isEqualTo(i + 1);
+                        }
+                    }
+                }
+            });
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < eventsPerWriter; i++) {
+                        repository.save(event(sagas.get(ThreadLocalRandom.current().nextInt(sagas.size()))));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<PersistedEvent> all = repository.streamAll().toList();
+        assertThat(all).extracting(PersistedEvent::getGlobalPosition)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, (long) writers * eventsPerWriter).boxed().toList());
+
+        Map<UUID, Long> lastVersion = new HashMap<>();
+        for (PersistedEvent event : all) {
+            long previous = lastVersion.getOrDefault(event.getSagaId(), 0L);
+            assertThat(event.getVersion()).isEqualTo(previous + 1);
+            lastVersion.put(event.getSagaId(), event.getVersion());
+        }
+    }
+
+    private static PersistedEvent event(UUID sagaId) {
+        return PersistedEvent.builder()
+                .id(UUID.randomUUID())
+                .sagaId(sagaId)
+                .eventType("test")
+                .eventPayload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
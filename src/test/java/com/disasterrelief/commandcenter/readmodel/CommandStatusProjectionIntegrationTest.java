@@ -0,0 +1,150 @@
+package com.disasterrelief.commandcenter.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandEscalatedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.CommandStatus;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.core.eventstore.JpaEventStore;
+import com.disasterrelief.core.projection.ProjectionEngine;
+import jakarta.annotation.Resource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = CommandStatusProjectionIntegrationTest.Initializer.class)
+@Testcontainers
+class CommandStatusProjectionIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "eventstore.read.gap-timeout=0s",
+                    "projections.poll-interval=1h",
+                    // the commands here expire on purpose; keep them from being compensated in the background
+                    "sagas.enabled=false"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore eventStore;
+
+    @Resource
+    private ProjectionEngine engine;
+
+    @Resource
+    private CommandStatusRepository repository;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private MockMvc mockMvc;
+
+    private final UUID teamId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final Instant issuedAt = Instant.parse("2025-06-27T10:00:00Z");
+
+    @BeforeEach
+    void clearStore() {
+        jdbcTemplate.execute("truncate persisted_events, event_streams, projection_checkpoints, command_status");
+    }
+
+    @Test
+    void tracksAcknowledgementsAndPendingMembers() {
+        UUID commandId = UUID.randomUUID();
+        eventStore.append(List.of(issued(commandId, issuedAt)), 0);
+        eventStore.append(List.of(acknowledged(commandId, alice), acknowledged(commandId, alice)), 1);
+
+        engine.runAll();
+
+        CommandStatusView view = repository.findById(commandId).orElseThrow();
+        assertThat(view.teamId()).isEqualTo(teamId);
+        assertThat(view.status()).isEqualTo(CommandStatus.ACKNOWLEDGED);
+        assertThat(view.expectedAcknowledgements()).isEqualTo(2);
+        assertThat(view.acknowledgements()).isEqualTo(1);
+        assertThat(view.pendingMemberIds()).containsExactly(bob);
+        assertThat(view.deadline()).isEqualTo(issuedAt.plusSeconds(3600));
+    }
+
+    @Test
+    void decodesAcknowledgementsStoredWithoutAMemberHeader() {
+        UUID commandId = UUID.randomUUID();
+        eventStore.append(List.of(issued(commandId, issuedAt)), 0);
+        eventStore.append(List.of(acknowledged(commandId, alice)), 1);
+        // bytea rows written before V6 have no promoted headers
+        jdbcTemplate.update("update persisted_events set team_id = null, member_id = null where version = 2");
+
+        engine.runAll();
+
+        CommandStatusView view = repository.findById(commandId).orElseThrow();
+        assertThat(view.acknowledgements()).isEqualTo(1);
+        assertThat(view.pendingMemberIds()).containsExactly(bob);
+    }
+
+    @Test
+    void servesCommandsByIdAndByTeamAndStatus() throws Exception {
+        UUID escalated = UUID.randomUUID();
+        UUID open = UUID.randomUUID();
+        eventStore.appendAll(List.of(
+                issued(escalated, issuedAt),
+                issued(open, issuedAt.plusSeconds(60)),
+                new CommandEscalatedEvent(escalated, teamId, "no response", issuedAt.plusSeconds(120))));
+        engine.runAll();
+
+        mockMvc.perform(get("/commands/{id}", escalated))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ESCALATED"))
+                .andExpect(jsonPath("$.pendingMemberIds.length()").value(2));
+        mockMvc.perform(get("/commands/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/teams/{teamId}/commands", teamId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].commandId").value(open.toString()))
+                .andExpect(jsonPath("$[1].commandId").value(escalated.toString()));
+        mockMvc.perform(get("/teams/{teamId}/commands", teamId).param("status", "ISSUED"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].commandId").value(open.toString()));
+    }
+
+    private CommandIssuedEvent issued(UUID commandId, Instant at) {
+        return new CommandIssuedEvent(commandId, teamId, new Message("Evacuate sector 4", UUID.randomUUID(), at),
+                at, at.plusSeconds(3600), UUID.randomUUID(), Set.of(alice, bob));
+    }
+
+    private CommandAcknowledgedEvent acknowledged(UUID commandId, UUID member) {
+        return new CommandAcknowledgedEvent(commandId, teamId, member, issuedAt.plusSeconds(5));
+    }
+}
@@ -0,0 +1,119 @@
+package com.disasterrelief.commandcenter.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.disasterrelief.commandcenter.domain.entity.TeamMember;
+import com.disasterrelief.commandcenter.domain.event.CommandCenterEventTypes;
+import com.disasterrelief.commandcenter.domain.event.TeamCreatedEvent;
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import com.disasterrelief.core.eventstore.file.FileEventStore;
+import com.disasterrelief.core.eventstore.file.FsyncPolicy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TeamRosterIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private FileEventStore eventStore;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID rescue = UUID.randomUUID();
+    private final UUID medical = UUID.randomUUID();
+
+    @BeforeEach
+    void open() {
+        eventStore = new FileEventStore(directory, 1024 * 1024, FsyncPolicy.NEVER, Duration.ofSeconds(1),
+                CommandCenterEventTypes.registry());
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        eventStore.close();
+    }
+
+    @Test
+    void indexesMembersByTeamAndTeamsByMemberAcrossRefreshes() {
+        TeamRosterIndex roster = new TeamRosterIndex(eventStore, 2, false, Duration.ZERO);
+        eventStore.appendAll(List.of(
+                team(rescue, alice, bob),
+                new DummyEvent(UUID.randomUUID(), Instant.now()),
+                new DummyEvent(UUID.randomUUID(), Instant.now())));
+        roster.refresh();
+        eventStore.append(team(medical, alice));
+        roster.refresh();
+
+        assertThat(roster.membersOf(rescue)).containsExactlyInAnyOrder(alice, bob);
+        assertThat(roster.isMember(medical, bob)).isFalse();
+        assertThat(roster.teamsOf(alice)).containsExactlyInAnyOrder(rescue, medical);
+        assertThat(roster.teamsOf(bob)).containsExactly(rescue);
+    }
+
+    @Test
+    void rejectsOutsidersOfKnownTeams() {
+        TeamRosterIndex roster = new TeamRosterIndex(eventStore, 100, false, Duration.ZERO);
+        eventStore.append(team(rescue, alice));
+        roster.refresh();
+
+        assertThatCode(() -> roster.requireMembers(rescue, Set.of(alice))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> roster.requireMembers(rescue, Set.of(alice, bob)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(bob.toString());
+        assertThatCode(() -> roster.requireMembers(medical, Set.of(bob))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void refreshesBeforeRejectingAnUnknownTeamWhenTeamsAreRequired() {
+        TeamRosterIndex roster = new TeamRosterIndex(eventStore, 100, true, Duration.ZERO);
+        roster.refresh();
+        eventStore.append(team(rescue, alice));
+
+        assertThatCode(() -> roster.requireMembers(rescue, Set.of(alice))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> roster.requireMembers(medical, Set.of(alice)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown team");
+    }
+
+    @Test
+    void loadsTheRosterBeforeValidatingTheFirstRequest() {
+        TeamRosterIndex roster = new TeamRosterIndex(eventStore, 100, false, Duration.ZERO);
+        eventStore.append(team(rescue, alice));
+
+        assertThatThrownBy(() -> roster.requireMembers(rescue, Set.of(bob)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(bob.toString());
+    }
+
+    @Test
+    void refreshesForUnknownTeamsAtMostOncePerInterval() {
+        TeamRosterIndex roster = new TeamRosterIndex(eventStore, 100, true, Duration.ofHours(1));
+        roster.refresh();
+        eventStore.append(team(rescue, alice));
+
+        assertThatThrownBy(() -> roster.requireMembers(rescue, Set.of(alice)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown team");
+        roster.refresh();
+        assertThatCode(() -> roster.requireMembers(rescue, Set.of(alice))).doesNotThrowAnyException();
+    }
+
+    private static TeamCreatedEvent team(UUID teamId, UUID... members) {
+        return new TeamCreatedEvent(teamId, "team", Arrays.stream(members)
+                .map(id -> new TeamMember(id, "member", "responder"))
+                .toList(), UUID.randomUUID(), Instant.now());
+    }
+}
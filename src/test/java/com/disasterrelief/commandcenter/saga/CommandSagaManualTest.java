@@ -2,6 +2,7 @@ package com.disasterrelief.commandcenter.saga;
 
 import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
 import com.disasterrelief.commandcenter.persistence.PersistedEventRepository;
+import com.disasterrelief.core.id.IdGenerator;
 import com.disasterrelief.core.saga.CompensationHandler;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,9 @@ class CommandSagaManualTest {
     @Autowired
     private PersistedEventRepository repository;
 
+    @Autowired
+    private IdGenerator ids;
+
     @Test
     void testSagaWithRealPostgres() {
         UUID commandId = UUID.randomUUID();
@@ -34,13 +38,13 @@ class CommandSagaManualTest {
         CompensationHandler<UUID> compensationHandler = (id, reason) ->
                 System.out.println("Compensating for command " + id + " due to " + reason);
 
-        CommandSaga saga = new CommandSaga(commandId, teamId, Set.of(member), deadline, compensationHandler, Clock.systemUTC(), repository);
+        CommandSaga saga = new CommandSaga(commandId, teamId, Set.of(member), deadline, compensationHandler, Clock.systemUTC(), ids, repository);
 
         saga.handle(new CommandAcknowledgedEvent(commandId, teamId, member, Instant.now()));
 
         assertThat(repository.findBySagaId(commandId)).hasSize(1);
 
-        CommandSaga loaded = CommandSaga.loadFromEvents(commandId, teamId, Set.of(member), deadline, compensationHandler, repository, Clock.systemUTC());
+        CommandSaga loaded = CommandSaga.loadFromEvents(commandId, teamId, Set.of(member), deadline, compensationHandler, repository, Clock.systemUTC(), ids);
 
         assertThat(loaded.getStatus()).isEqualTo(SagaStatus.COMPLETED);
         assertThat(loaded.getAcknowledgedBy()).containsExactly(member);
@@ -0,0 +1,289 @@
+package com.disasterrelief.commandcenter.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandCenterEventTypes;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.commandcenter.persistence.InMemoryPersistedEventRepository;
+import com.disasterrelief.config.SagaConfig;
+import com.disasterrelief.core.deadline.Deadline;
+import com.disasterrelief.core.deadline.DeadlineLoader;
+import com.disasterrelief.core.deadline.DeadlineScheduler;
+import com.disasterrelief.core.deadline.MutableClock;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.eventstore.PersistedEvent;
+import com.disasterrelief.core.eventstore.RecordedEvent;
+import com.disasterrelief.core.eventstore.file.FileEventStore;
+import com.disasterrelief.core.eventstore.file.FsyncPolicy;
+import com.disasterrelief.core.id.UuidV7Generator;
+import com.disasterrelief.core.saga.ConcurrentSagaManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CommandSagaRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-27T10:00:00Z"));
+    private final InMemoryPersistedEventRepository recorded = new InMemoryPersistedEventRepository();
+    private final DeadlineScheduler<UUID> deadlines = new DeadlineScheduler<>(clock, Duration.ofSeconds(1));
+    private final List<Deadline<UUID>> stored = new ArrayList<>();
+    private final UUID commandId = UUID.randomUUID();
+    private final UUID teamId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    private FileEventStore eventStore;
+    private ConcurrentSagaManager<UUID, CommandSaga> sagas;
+
+    @BeforeEach
+    void open() {
+        eventStore = new FileEventStore(directory, 1024 * 1024, FsyncPolicy.NEVER, Duration.ofSeconds(1),
+                CommandCenterEventTypes.registry());
+        sagas = new SagaConfig().commandSagaManager(eventStore, recorded, deadlines, new UuidV7Generator(clock),
+                clock, 16);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        eventStore.close();
+    }
+
+    @Test
+    void compensatesACommandNobodyAcknowledgedOnceItsDeadlinePasses() {
+        CommandSagaRunner runner = runner(SagaRecovery.REPLAY);
+        eventStore.append(issued(clock.instant().plusSeconds(60)));
+        eventStore.append(acknowledged(alice));
+        runner.load();
+
+        assertThat(runner.isLoaded()).isTrue();
+        assertThat(sagas.getActiveSagas()).containsKey(commandId);
+        assertThat(runner.fireDeadlines()).isZero();
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(runner.fireDeadlines()).isEqualTo(1);
+        assertThat(sagas.getActiveSagas()).isEmpty();
+        assertThat(recorded.findBySagaId(commandId))
+                .extracting(PersistedEvent::getEventType)
+                .containsExactly("saga.compensated");
+    }
+
+    @Test
+    void firesNothingBeforeTheStartupReplayFinished() {
+        CommandSagaRunner runner = runner(SagaRecovery.REPLAY);
+        eventStore.append(issued(clock.instant().minusSeconds(60)));
+
+        assertThat(runner.fireDeadlines()).isZero();
+        assertThat(runner.isLoaded()).isFalse();
+
+        runner.load();
+
+        assertThat(runner.fireDeadlines()).isEqualTo(1);
+    }
+
+    @Test
+    void seesAcknowledgementsRecordedBeforeTheDeadlineFires() {
+        CommandSagaRunner runner = runner(SagaRecovery.REPLAY);
+        eventStore.append(issued(clock.instant().plusSeconds(60)));
+        runner.load();
+        eventStore.append(acknowledged(alice));
+        eventStore.append(acknowledged(bob));
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(runner.fireDeadlines()).isZero();
+        assertThat(sagas.getActiveSagas()).isEmpty();
+        assertThat(recorded.findBySagaId(commandId)).isEmpty();
+    }
+
+    @Test
+    void rebuildsWithoutRecordingTheHistoryAgain() {
+        CommandSagaRunner runner = runner(SagaRecovery.REPLAY);
+        eventStore.append(issued(clock.instant().minusSeconds(60)));
+        eventStore.append(acknowledged(alice));
+
+        runner.load();
+
+        assertThat(sagas.getActiveSagas().get(commandId).getStatus()).isEqualTo(SagaStatus.PENDING);
+        assertThat(recorded.findBySagaId(commandId)).isEmpty();
+    }
+
+    @Test
+    void recoversFromTheStoredDeadlinesWithoutReplayingTheStore() {
+        CommandSagaRunner runner = runner(SagaRecovery.DEADLINES);
+        eventStore.append(issued(clock.instant().plusSeconds(60)));
+        eventStore.append(acknowledged(alice));
+        stored.add(new Deadline<>(commandId, clock.instant().plusSeconds(60)));
+
+        runner.load();
+
+        assertThat(sagas.getActiveSagas()).isEmpty();
+        assertThat(deadlines.isScheduled(commandId)).isTrue();
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(runner.fireDeadlines()).isEqualTo(1);
+        assertThat(sagas.getActiveSagas()).isEmpty();
+        assertThat(recorded.findBySagaId(commandId))
+                .extracting(PersistedEvent::getEventType)
+                .containsExactly("saga.compensated");
+    }
+
+    @Test
+    void rebuildsASagaWithAPendingDeadlineWhenOneOfItsEventsComesIn() {
+        CommandSagaRunner runner = runner(SagaRecovery.DEADLINES);
+        eventStore.append(issued(clock.instant().plusSeconds(60)));
+        eventStore.append(acknowledged(alice));
+        stored.add(new Deadline<>(commandId, clock.instant().plusSeconds(60)));
+        runner.load();
+
+        eventStore.append(acknowledged(bob));
+        runner.catchUp();
+
+        assertThat(deadlines.isScheduled(commandId)).isFalse();
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(runner.fireDeadlines()).isZero();
+        assertThat(recorded.findBySagaId(commandId)).isEmpty();
+    }
+
+    @Test
+    void tracksCommandsIssuedAfterStartup() {
+        CommandSagaRunner runner = runner(SagaRecovery.DEADLINES);
+        runner.load();
+
+        eventStore.append(issued(clock.instant().plusSeconds(60)));
+        eventStore.append(acknowledged(alice));
+        runner.catchUp();
+
+        assertThat(sagas.getActiveSagas().get(commandId).getAcknowledgedBy()).containsExactly(alice);
+        assertThat(deadlines.isScheduled(commandId)).isTrue();
+    }
+
+    @Test
+    void replaysAnAcknowledgementThatCommitsLateIntoAGap() {
+        eventStore.append(issued(clock.instant().plusSeconds(60)));
+        eventStore.append(acknowledged(alice));
+        eventStore.append(acknowledged(bob));
+        GappedEventStore gapped = new GappedEventStore(eventStore, 2);
+        CommandSagaRunner runner = runner(gapped, SagaRecovery.REPLAY);
+
+        runner.load();
+        gapped.commit();
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(runner.fireDeadlines()).isZero();
+        assertThat(sagas.getActiveSagas()).isEmpty();
+        assertThat(recorded.findBySagaId(commandId)).isEmpty();
+    }
+
+    private CommandSagaRunner runner(SagaRecovery recovery) {
+        return runner(eventStore, recovery);
+    }
+
+    private CommandSagaRunner runner(EventStore store, SagaRecovery recovery) {
+        DeadlineLoader<UUID> loader = new DeadlineLoader<>(deadlines,
+                (after, until, limit) -> after != null ? List.of()
+                        : stored.stream().filter(deadline -> !deadline.at().isAfter(until)).toList(),
+                clock, Duration.ofMinutes(10), 100);
+        return new CommandSagaRunner(sagas, store, loader, recovery, 2, 4);
+    }
+
+    private CommandIssuedEvent issued(Instant deadline) {
+        Instant now = clock.instant();
+        return new CommandIssuedEvent(commandId, teamId, new Message("Evacuate", UUID.randomUUID(), now), now,
+                deadline, UUID.randomUUID(), Set.of(alice, bob));
+    }
+
+    private CommandAcknowledgedEvent acknowledged(UUID member) {
+        return new CommandAcknowledgedEvent(commandId, teamId, member, clock.instant());
+    }
+
+    /**
+     * Hides the event at one position until {@link #commit()}, as an append that took that position but has not
+     * committed yet: gap-aware reads stop before it, while a plain scan reads past it.
+     */
+    private static class GappedEventStore implements EventStore {
+
+        private final EventStore delegate;
+        private final long gap;
+        private boolean committed;
+
+        GappedEventStore(EventStore delegate, long gap) {
+            this.delegate = delegate;
+            this.gap = gap;
+        }
+
+        void commit() {
+            committed = true;
+        }
+
+        @Override
+        public List<RecordedEvent> readFrom(long position, int maxCount) {
+            List<RecordedEvent> events = delegate.readFrom(position, maxCount);
+            if (committed) return events;
+            return events.stream().takeWhile(event -> event.position() < gap).toList();
+        }
+
+        @Override
+        public Stream<EventEnvelope> streamEnvelopes() {
+            return delegate.streamEnvelopes().filter(envelope -> committed || envelope.position() != gap);
+        }
+
+        @Override
+        public long settledPosition() {
+            return committed ? delegate.settledPosition() : gap - 1;
+        }
+
+        @Override
+        public void append(DomainEvent event) {
+            delegate.append(event);
+        }
+
+        @Override
+        public void appendAll(List<DomainEvent> events) {
+            delegate.appendAll(events);
+        }
+
+        @Override
+        public void append(List<DomainEvent> events, long expectedVersion) {
+            delegate.append(events, expectedVersion);
+        }
+
+        @Override
+        public List<DomainEvent> readAll() {
+            return delegate.readAll();
+        }
+
+        @Override
+        public Stream<DomainEvent> streamAll() {
+            return delegate.streamAll();
+        }
+
+        @Override
+        public List<DomainEvent> readByAggregateId(UUID aggregateId) {
+            return delegate.readByAggregateId(aggregateId);
+        }
+
+        @Override
+        public List<DomainEvent> readByAggregateId(UUID aggregateId, long afterVersion) {
+            return delegate.readByAggregateId(aggregateId, afterVersion);
+        }
+    }
+}
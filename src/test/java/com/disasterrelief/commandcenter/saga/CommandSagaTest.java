@@ -1,11 +1,11 @@
 package com.disasterrelief.commandcenter.saga;
 
 import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandCenterEventTypes;
 import com.disasterrelief.commandcenter.persistence.InMemoryPersistedEventRepository;
 import com.disasterrelief.commandcenter.persistence.PersistedEventRepository;
 import com.disasterrelief.core.event.DomainEvent;
 import com.disasterrelief.core.saga.CompensationHandler;
-import com.disasterrelief.util.EventSerializationUtil;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -254,14 +254,8 @@ class CommandSagaTest {
             original.handle(new CommandAcknowledgedEvent(commandId, teamId, member2, now));
 
             List<DomainEvent> persistedEvents = eventStore.findBySagaId(commandId).stream()
-                    .map(persisted -> {
-                        try {
-                            Class<?> clazz = Class.forName(persisted.getEventType());
-                            return (DomainEvent) EventSerializationUtil.deserialize(persisted.getEventPayload(), clazz);
-                        } catch (Exception e) {
-                            throw new RuntimeException("Deserialization failed", e);
-                        }
-                    })
+                    .map(persisted -> CommandCenterEventTypes.registry()
+                            .deserialize(persisted.getEventType(), persisted.getEventPayload()))
                     .toList();
 
             CommandSaga replayed = CommandSagaTestBuilder.builder()
@@ -277,6 +271,78 @@ class CommandSagaTest {
             assertThat(replayed.getStatus()).isEqualTo(SagaStatus.COMPLETED);
             assertThat(replayed.getAcknowledgedBy()).containsExactlyInAnyOrder(member1, member2);
         }
+
+        @Test
+        void replayedCompensationRestoresTheOutcomeWithoutCompensatingAgain() {
+            var firstRun = new CompensationTests.TestCompensationHandler();
+            CommandSaga original = CommandSagaTestBuilder.builder()
+                    .expectedAcknowledgers(expectedAcknowledgers)
+                    .deadline(now.minusSeconds(60))
+                    .clock(fixedClock)
+                    .compensationHandler(firstRun)
+                    .persistedEventRepository(eventStore)
+                    .build();
+            original.handle(new CommandAcknowledgedEvent(original.getCommandId(), original.getTeamId(), member1, now));
+            assertThat(firstRun.called).isTrue();
+            int recorded = eventStore.findBySagaId(original.getCommandId()).size();
+
+            var afterRestart = new CompensationTests.TestCompensationHandler();
+            CommandSaga loaded = CommandSaga.loadFromEvents(original.getCommandId(), original.getTeamId(),
+                    expectedAcknowledgers, original.getDeadline(), afterRestart, eventStore, fixedClock,
+                    UUID::randomUUID);
+
+            assertThat(loaded.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+            assertThat(loaded.isCompleted()).isTrue();
+            assertThat(loaded.getCompensationReason()).isEqualTo(original.getCompensationReason());
+            assertThat(afterRestart.called).isFalse();
+            assertThat(eventStore.findBySagaId(original.getCommandId())).hasSize(recorded);
+        }
+
+        @Test
+        void replayLeavesAPassedDeadlineToOnDeadline() {
+            var handler = new CompensationTests.TestCompensationHandler();
+            CommandSaga saga = CommandSagaTestBuilder.builder()
+                    .expectedAcknowledgers(expectedAcknowledgers)
+                    .deadline(now.minusSeconds(60))
+                    .clock(fixedClock)
+                    .compensationHandler(handler)
+                    .persistedEventRepository(eventStore)
+                    .build();
+
+            saga.replay(new CommandAcknowledgedEvent(saga.getCommandId(), saga.getTeamId(), member1, now));
+
+            assertThat(saga.getStatus()).isEqualTo(SagaStatus.PENDING);
+            assertThat(saga.getAcknowledgedBy()).containsExactly(member1);
+            assertThat(handler.called).isFalse();
+            assertThat(eventStore.findBySagaId(saga.getCommandId())).isEmpty();
+
+            saga.onDeadline();
+
+            assertThat(saga.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+            assertThat(handler.called).isTrue();
+            assertThat(eventStore.findBySagaId(saga.getCommandId())).hasSize(1);
+        }
+    }
+
+    @Nested
+    class PersistenceTest {
+
+        @Test
+        void storesEventsUnderIdsFromTheGivenGenerator() {
+            UUID eventId = UUID.randomUUID();
+            var saga = CommandSagaTestBuilder.builder()
+                    .expectedAcknowledgers(expectedAcknowledgers)
+                    .clock(fixedClock)
+                    .ids(() -> eventId)
+                    .persistedEventRepository(eventStore)
+                    .build();
+
+            saga.handle(new CommandAcknowledgedEvent(saga.getCommandId(), saga.getTeamId(), member1, now));
+
+            assertThat(eventStore.findBySagaId(saga.getCommandId()))
+                    .singleElement()
+                    .satisfies(persisted -> assertThat(persisted.getId()).isEqualTo(eventId));
+        }
     }
 
     @Nested
@@ -2,12 +2,15 @@ package com.disasterrelief.commandcenter.saga;
 
 import com.disasterrelief.commandcenter.persistence.PersistedEventRepository;
 import com.disasterrelief.core.eventstore.PersistedEvent;
+import com.disasterrelief.core.id.IdGenerator;
+import com.disasterrelief.core.id.UuidV7Generator;
 import com.disasterrelief.core.saga.CompensationHandler;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 /**
  * Fluent builder for CommandSaga used in unit tests.
@@ -19,6 +22,7 @@ public class CommandSagaTestBuilder {
     private Set<UUID> expectedAcknowledgers = Set.of(UUID.randomUUID(), UUID.randomUUID());
     private Instant deadline = Instant.now().plusSeconds(3600);
     private Clock clock = Clock.systemUTC();
+    private IdGenerator ids;
     private CompensationHandler<UUID> compensationHandler = (sagaId, reason) -> {};
     private PersistedEventRepository persistedEventRepository = new InMemoryRepoStub();
 
@@ -51,6 +55,11 @@ public class CommandSagaTestBuilder {
         return this;
     }
 
+    public CommandSagaTestBuilder ids(IdGenerator ids) {
+        this.ids = ids;
+        return this;
+    }
+
     public CommandSagaTestBuilder compensationHandler(CompensationHandler<UUID> compensationHandler) {
         this.compensationHandler = compensationHandler;
         return this;
@@ -69,6 +78,7 @@ public class CommandSagaTestBuilder {
                 deadline,
                 compensationHandler,
                 clock,
+                ids != null ? ids : new UuidV7Generator(clock),
                 persistedEventRepository
         );
     }
@@ -90,5 +100,10 @@ public class CommandSagaTestBuilder {
                     .filter(e -> sagaId.equals(e.getSagaId()))
                     .toList();
         }
+
+        @Override
+        public Stream<PersistedEvent> streamAll() {
+            return store.stream();
+        }
     }
 }
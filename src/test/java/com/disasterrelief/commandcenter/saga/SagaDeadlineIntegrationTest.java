@@ -0,0 +1,175 @@
+package com.disasterrelief.commandcenter.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.commandcenter.persistence.PersistedEventRepository;
+import com.disasterrelief.core.deadline.DeadlineLoader;
+import com.disasterrelief.core.deadline.DeadlineScheduler;
+import com.disasterrelief.core.deadline.MutableClock;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.JpaEventStore;
+import com.disasterrelief.core.shard.ShardAssignment;
+import jakarta.annotation.Resource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@ContextConfiguration(initializers = SagaDeadlineIntegrationTest.Initializer.class)
+@Testcontainers
+class SagaDeadlineIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    // the commands here expire on purpose; keep them from being compensated in the background
+                    "sagas.enabled=false"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore eventStore;
+
+    @Resource
+    private PersistedEventRepository sagaEvents;
+
+    @Resource
+    private SagaDeadlineRepository deadlines;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID teamId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final Instant now = Instant.parse("2025-06-27T10:00:00Z");
+
+    @BeforeEach
+    void clearStore() {
+        jdbcTemplate.execute("truncate persisted_events, event_streams, saga_deadlines");
+    }
+
+    @Test
+    void keepsOnlyOpenSagasInTheAppendTransaction() {
+        UUID acknowledged = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        eventStore.appendAll(List.of(issued(acknowledged, now.plusSeconds(60)), issued(pending, now.plusSeconds(60))));
+        eventStore.appendAll(List.of(ack(acknowledged, alice), ack(acknowledged, alice), ack(pending, alice)));
+
+        assertThat(pendingMembers(pending)).containsExactly(bob);
+        assertThat(pendingMembers(acknowledged)).containsExactly(bob);
+
+        eventStore.append(ack(acknowledged, bob));
+
+        assertThat(openSagas()).containsExactly(pending);
+    }
+
+    @Test
+    void dropsTheDeadlineOfACompensatedSaga() {
+        UUID commandId = UUID.randomUUID();
+        eventStore.append(issued(commandId, now.minusSeconds(1)));
+
+        CommandSaga saga = CommandSagaTestBuilder.builder()
+                .commandId(commandId)
+                .teamId(teamId)
+                .expectedAcknowledgers(Set.of(alice, bob))
+                .deadline(now.minusSeconds(1))
+                .clock(Clock.fixed(now, ZoneOffset.UTC))
+                .persistedEventRepository(sagaEvents)
+                .build();
+        saga.onDeadline();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(openSagas()).isEmpty();
+    }
+
+    @Test
+    void loadsOnlyTheDeadlinesDueWithinTheWindowAndPagesInLaterOnes() {
+        UUID soon = UUID.randomUUID();
+        UUID alsoSoon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        eventStore.appendAll(List.of(issued(soon, now.plusSeconds(30)), issued(alsoSoon, now.plusSeconds(30)),
+                issued(later, now.plus(Duration.ofHours(2)))));
+
+        MutableClock clock = new MutableClock(now);
+        DeadlineScheduler<UUID> scheduler = new DeadlineScheduler<>(clock, Duration.ofSeconds(1));
+        DeadlineLoader<UUID> loader = new DeadlineLoader<>(scheduler, deadlines, clock, Duration.ofMinutes(10), 1);
+
+        assertThat(loader.load()).isEqualTo(2);
+        assertThat(scheduler.isScheduled(soon)).isTrue();
+        assertThat(scheduler.isScheduled(alsoSoon)).isTrue();
+        assertThat(scheduler.isScheduled(later)).isFalse();
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(loader.load()).isEqualTo(1);
+        assertThat(scheduler.isScheduled(later)).isTrue();
+    }
+
+    @Test
+    void pagesThroughTheOpenSagasOfGivenShardsOnly() {
+        List<UUID> commandIds = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID()).toList();
+        eventStore.appendAll(commandIds.stream().map(id -> (DomainEvent) issued(id, now.plusSeconds(60))).toList());
+        Set<Integer> shards = Set.of(0, 3, 7);
+
+        List<UUID> found = new ArrayList<>();
+        List<UUID> page;
+        UUID cursor = null;
+        do {
+            page = deadlines.findOpen(shards, 8, cursor, 10);
+            found.addAll(page);
+            if (!page.isEmpty()) cursor = page.getLast();
+        } while (page.size() == 10);
+
+        assertThat(found).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(commandIds.stream()
+                .filter(id -> shards.contains(ShardAssignment.shardOf(id, 8)))
+                .toList());
+    }
+
+    private List<UUID> openSagas() {
+        return jdbcTemplate.queryForList("select saga_id from saga_deadlines", UUID.class);
+    }
+
+    private List<UUID> pendingMembers(UUID commandId) {
+        return jdbcTemplate.queryForList("select unnest(pending_member_ids) from saga_deadlines where saga_id = ?",
+                UUID.class, commandId);
+    }
+
+    private CommandIssuedEvent issued(UUID commandId, Instant deadline) {
+        return new CommandIssuedEvent(commandId, teamId, new Message("Evacuate sector 4", UUID.randomUUID(), now),
+                now, deadline, UUID.randomUUID(), Set.of(alice, bob));
+    }
+
+    private CommandAcknowledgedEvent ack(UUID commandId, UUID memberId) {
+        return new CommandAcknowledgedEvent(commandId, teamId, memberId, now);
+    }
+}
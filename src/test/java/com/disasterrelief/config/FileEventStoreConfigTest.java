@@ -0,0 +1,72 @@
+package com.disasterrelief.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.commandcenter.application.CommandService;
+import com.disasterrelief.commandcenter.domain.command.SendCommandToTeamCommand;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.eventstore.file.FileEventStore;
+import com.disasterrelief.core.snapshot.InMemorySnapshotStore;
+import com.disasterrelief.core.snapshot.SnapshotStore;
+import jakarta.annotation.Resource;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * The application with {@code eventstore.type=file} and a datasource URL nothing listens on: it must start and
+ * take commands without touching a database.
+ */
+@SpringBootTest(properties = {
+        "eventstore.type=file",
+        "spring.datasource.url=jdbc:postgresql://127.0.0.1:1/unreachable"
+})
+class FileEventStoreConfigTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void eventDirectory(DynamicPropertyRegistry registry) {
+        registry.add("eventstore.file.directory", () -> directory.toString());
+    }
+
+    @Resource
+    private ApplicationContext context;
+
+    @Resource
+    private CommandService commandService;
+
+    @Resource
+    private EventStore eventStore;
+
+    @Test
+    void startsWithoutADataSource() {
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+        assertThat(eventStore).isInstanceOf(FileEventStore.class);
+        assertThat(context.getBean(SnapshotStore.class)).isInstanceOf(InMemorySnapshotStore.class);
+    }
+
+    @Test
+    void storesCommandsInTheFileLog() {
+        UUID commandId = UUID.randomUUID();
+        UUID issuer = UUID.randomUUID();
+        Instant now = Instant.parse("2025-06-27T10:00:00Z");
+
+        commandService.sendCommand(new SendCommandToTeamCommand(commandId, UUID.randomUUID(),
+                new Message("Evacuate sector 4", issuer, now), now.plusSeconds(600), issuer,
+                Set.of(UUID.randomUUID())));
+
+        assertThat(eventStore.readByAggregateId(commandId)).singleElement().isInstanceOf(CommandIssuedEvent.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.disasterrelief.core.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AggregateCacheTest {
+
+    private Clock clock;
+    private Instant now;
+    private AggregateCache<String> cache;
+
+    @BeforeEach
+    void setup() {
+        now = Instant.parse("2025-06-27T10:00:00Z");
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now);
+        cache = new AggregateCache<>(2, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        UUID id = UUID.randomUUID();
+
+        assertTrue(cache.get(id).isEmpty());
+        cache.put(id, "state", 3);
+
+        AggregateCache.Entry<String> entry = cache.get(id).orElseThrow();
+        assertEquals("state", entry.state());
+        assertEquals(3, entry.version());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        cache.put(first, "a", 1);
+        cache.put(second, "b", 1);
+        cache.get(first);
+        cache.put(third, "c", 1);
+
+        assertTrue(cache.get(first).isPresent());
+        assertTrue(cache.get(second).isEmpty());
+        assertEquals(1, cache.evictions());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        UUID id = UUID.randomUUID();
+        cache.put(id, "state", 1);
+
+        when(clock.instant()).thenReturn(now.plus(Duration.ofMinutes(2)));
+
+        assertTrue(cache.get(id).isEmpty());
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void keepsNewerVersionWhenStaleStateIsPut() {
+        UUID id = UUID.randomUUID();
+        cache.put(id, "newer", 5);
+        cache.put(id, "older", 4);
+
+        assertEquals("newer", cache.get(id).orElseThrow().state());
+    }
+
+    @Test
+    void publishesStatsToMeterRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry, "command");
+        cache.get(UUID.randomUUID());
+
+        assertEquals(1.0, registry.get("aggregate.cache.misses").tag("cache", "command").functionCounter().count());
+        assertEquals(0.0, registry.get("aggregate.cache.size").tag("cache", "command").gauge().value());
+    }
+}
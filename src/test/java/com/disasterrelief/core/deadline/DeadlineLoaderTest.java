@@ -0,0 +1,66 @@
+package com.disasterrelief.core.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DeadlineLoaderTest {
+
+    private static final Comparator<Deadline<Integer>> ORDER =
+            Comparator.comparing((Deadline<Integer> deadline) -> deadline.at()).thenComparing(Deadline::key);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-27T10:00:00Z"));
+    private final DeadlineScheduler<Integer> scheduler = new DeadlineScheduler<>(clock, Duration.ofSeconds(1));
+    private final List<Deadline<Integer>> stored = new ArrayList<>();
+    private final List<Integer> pagesRead = new ArrayList<>();
+
+    private final DeadlineSource<Integer> source = (after, until, limit) -> {
+        List<Deadline<Integer>> page = stored.stream()
+                .sorted(ORDER)
+                .filter(deadline -> after == null || ORDER.compare(deadline, after) > 0)
+                .filter(deadline -> !deadline.at().isAfter(until))
+                .limit(limit)
+                .toList();
+        pagesRead.add(page.size());
+        return page;
+    };
+
+    private final DeadlineLoader<Integer> loader =
+            new DeadlineLoader<>(scheduler, source, clock, Duration.ofMinutes(10), 2);
+
+    @Test
+    void startsWithTheDeadlinesDueWithinTheWindowInPages() {
+        stored.add(new Deadline<>(1, clock.instant().minusSeconds(30)));
+        stored.add(new Deadline<>(2, clock.instant().plusSeconds(30)));
+        stored.add(new Deadline<>(3, clock.instant().plusSeconds(30)));
+        stored.add(new Deadline<>(4, clock.instant().plus(Duration.ofDays(30))));
+
+        assertThat(loader.load()).isEqualTo(3);
+
+        assertThat(pagesRead).containsExactly(2, 1);
+        assertThat(scheduler.size()).isEqualTo(3);
+        assertThat(scheduler.isScheduled(4)).isFalse();
+        assertThat(loader.loadedUntil()).isEqualTo(clock.instant().plus(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void pagesInLaterDeadlinesOnceHalfTheWindowHasPassed() {
+        stored.add(new Deadline<>(1, clock.instant().plusSeconds(30)));
+        stored.add(new Deadline<>(2, clock.instant().plus(Duration.ofMinutes(12))));
+        loader.load();
+
+        clock.advance(Duration.ofMinutes(4));
+        assertThat(loader.load()).isZero();
+        assertThat(scheduler.isScheduled(2)).isFalse();
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(loader.load()).isEqualTo(1);
+        assertThat(scheduler.isScheduled(2)).isTrue();
+        assertThat(scheduler.expire(key -> { })).isEqualTo(1);
+    }
+}
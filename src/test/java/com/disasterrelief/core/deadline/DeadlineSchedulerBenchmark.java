@@ -0,0 +1,74 @@
+package com.disasterrelief.core.deadline;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH measurement of rescheduling and cancelling a deadline while {@code pending} others are held, which should
+ * not grow with {@code pending}. Run with {@code mvn test -Pbenchmark -Dtest=DeadlineSchedulerBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeadlineSchedulerBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int pending;
+
+    private final Instant now = Instant.parse("2025-06-27T10:00:00Z");
+    private DeadlineScheduler<Integer> scheduler;
+
+    @Setup
+    public void setUp() {
+        scheduler = new DeadlineScheduler<>(Clock.fixed(now, ZoneOffset.UTC), Duration.ofMillis(100));
+        for (int key = 0; key < pending; key++) {
+            scheduler.schedule(key, randomDeadline());
+        }
+    }
+
+    @Benchmark
+    public void reschedule() {
+        scheduler.schedule(ThreadLocalRandom.current().nextInt(pending), randomDeadline());
+    }
+
+    @Benchmark
+    public void cancelAndSchedule() {
+        int key = ThreadLocalRandom.current().nextInt(pending);
+        scheduler.cancel(key);
+        scheduler.schedule(key, randomDeadline());
+    }
+
+    private Instant randomDeadline() {
+        return now.plusMillis(ThreadLocalRandom.current().nextLong(1, Duration.ofHours(24).toMillis()));
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DeadlineSchedulerBenchmark.class.getName() + "\\.")
+                .build())
+                .run();
+    }
+}
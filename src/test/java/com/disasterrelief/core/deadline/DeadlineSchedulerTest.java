@@ -0,0 +1,108 @@
+package com.disasterrelief.core.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DeadlineSchedulerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-27T10:00:00Z"));
+    private final DeadlineScheduler<Integer> scheduler = new DeadlineScheduler<>(clock, Duration.ofMillis(100));
+    private final List<Integer> fired = new ArrayList<>();
+
+    @Test
+    void firesOnceTheDeadlineHasPassedAndNotBefore() {
+        scheduler.schedule(1, clock.instant().plusMillis(250));
+
+        clock.advance(Duration.ofMillis(200));
+        assertThat(scheduler.expire(fired::add)).isZero();
+
+        clock.advance(Duration.ofMillis(100));
+        assertThat(scheduler.expire(fired::add)).isEqualTo(1);
+        assertThat(fired).containsExactly(1);
+        assertThat(scheduler.size()).isZero();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(scheduler.expire(fired::add)).isZero();
+    }
+
+    @Test
+    void cancelledAndRescheduledDeadlinesDoNotFireAtTheirOldTime() {
+        scheduler.schedule(1, clock.instant().plusSeconds(1));
+        scheduler.schedule(2, clock.instant().plusSeconds(1));
+        scheduler.schedule(2, clock.instant().plusSeconds(10));
+
+        assertThat(scheduler.cancel(1)).isTrue();
+        assertThat(scheduler.cancel(1)).isFalse();
+
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.expire(fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(scheduler.isScheduled(2)).isTrue();
+
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.expire(fired::add);
+        assertThat(fired).containsExactly(2);
+    }
+
+    @Test
+    void deadlinesAlreadyPassedFireOnTheNextExpiry() {
+        scheduler.schedule(1, clock.instant().minusSeconds(60));
+
+        assertThat(scheduler.expire(fired::add)).isEqualTo(1);
+        assertThat(fired).containsExactly(1);
+    }
+
+    @Test
+    void cascadesFarDeadlinesDownToTheirTick() {
+        scheduler.schedule(1, clock.instant().plus(Duration.ofDays(40)).plusMillis(50));
+        scheduler.schedule(2, clock.instant().plus(Duration.ofDays(400)));
+
+        clock.advance(Duration.ofDays(40));
+        scheduler.expire(fired::add);
+        assertThat(fired).isEmpty();
+
+        clock.advance(Duration.ofMillis(100));
+        scheduler.expire(fired::add);
+        assertThat(fired).containsExactly(1);
+
+        clock.advance(Duration.ofDays(360));
+        scheduler.expire(fired::add);
+        assertThat(fired).containsExactly(1, 2);
+    }
+
+    @Test
+    void firesEachOfManyRandomDeadlinesOnTheFirstExpiryAfterIt() {
+        Random random = new Random(42);
+        Instant start = clock.instant();
+        Map<Integer, Instant> deadlines = new HashMap<>();
+        for (int key = 0; key < 20_000; key++) {
+            Instant deadline = start.plusMillis(random.nextInt(3_600_000));
+            deadlines.put(key, deadline);
+            scheduler.schedule(key, deadline);
+        }
+        for (int key = 0; key < 20_000; key += 3) {
+            scheduler.cancel(key);
+            deadlines.remove(key);
+        }
+
+        Map<Integer, Instant> firedAt = new HashMap<>();
+        while (clock.instant().isBefore(start.plus(Duration.ofHours(1)).plusSeconds(1))) {
+            clock.advance(Duration.ofMillis(random.nextInt(5_000)));
+            scheduler.expire(key -> firedAt.put(key, clock.instant()));
+        }
+
+        assertThat(firedAt).hasSameSizeAs(deadlines);
+        deadlines.forEach((key, deadline) -> assertThat(firedAt.get(key))
+                .isAfterOrEqualTo(deadline)
+                .isBefore(deadline.plusSeconds(5).plusMillis(100)));
+        assertThat(scheduler.size()).isZero();
+    }
+}
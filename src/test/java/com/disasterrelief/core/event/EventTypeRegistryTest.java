@@ -0,0 +1,55 @@
+package com.disasterrelief.core.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.TeamCreatedEvent;
+import com.disasterrelief.util.EventSerializationUtil;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EventTypeRegistryTest {
+
+    private final EventTypeRegistry registry = new EventTypeRegistry()
+            .register("command.acknowledged", CommandAcknowledgedEvent.class);
+
+    private final CommandAcknowledgedEvent event = new CommandAcknowledgedEvent(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Instant.parse("2025-06-27T10:00:00Z"));
+
+    @Test
+    void storesRegisteredTypesUnderTheirCode() {
+        String json = EventSerializationUtil.serialize(event);
+
+        assertThat(registry.codeOf(CommandAcknowledgedEvent.class)).isEqualTo("command.acknowledged");
+        assertThat(registry.deserialize("command.acknowledged", json)).isEqualTo(event);
+    }
+
+    @Test
+    void fallsBackToClassNamesForUnregisteredTypesAndLegacyRows() {
+        String json = EventSerializationUtil.serialize(event);
+
+        assertThat(registry.codeOf(TeamCreatedEvent.class)).isEqualTo(TeamCreatedEvent.class.getName());
+        assertThat(registry.deserialize(CommandAcknowledgedEvent.class.getName(), json)).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsConflictingRegistrationsAndUnknownCodes() {
+        assertThatThrownBy(() -> registry.register("command.acknowledged", TeamCreatedEvent.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.register("ack", CommandAcknowledgedEvent.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.typeOf("no.such.event"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void leavesNothingBehindWhenARegistrationIsRejected() {
+        assertThatThrownBy(() -> registry.register("ack", CommandAcknowledgedEvent.class))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> registry.typeOf("ack")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.register("ack", TeamCreatedEvent.class).typeOf("ack")).isEqualTo(TeamCreatedEvent.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.disasterrelief.core.event.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.util.EventSerializationUtil;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Encoded size and encode/decode throughput of the command center's events per codec, against the String-based
+ * {@link EventSerializationUtil}. Run with {@code mvn test -Pbenchmark -Dtest=EventCodecBenchmark};
+ * {@code -Dbenchmark.iterations=...} sets the round trips per measurement (default 500k).
+ */
+class EventCodecBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 500_000);
+
+    private final Instant now = Instant.now();
+    private final List<DomainEvent> events = List.of(
+            new CommandIssuedEvent(UUID.randomUUID(), UUID.randomUUID(),
+                    new Message("Evacuate sector 4 via the north bridge", UUID.randomUUID(), now), now,
+                    now.plusSeconds(600), UUID.randomUUID(), Set.of(UUID.randomUUID(), UUID.randomUUID())),
+            new CommandAcknowledgedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), now));
+
+    @Test
+    void comparesCodecs() {
+        for (DomainEvent event : events) {
+            measureString(event);
+            for (EventSerializer serializer : List.of(
+                    JacksonEventSerializer.json(), JacksonEventSerializer.smile(), JacksonEventSerializer.cbor())) {
+                measure(event, serializer);
+            }
+        }
+    }
+
+    private void measureString(DomainEvent event) {
+        String json = EventSerializationUtil.serialize(event);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            EventSerializationUtil.deserialize(EventSerializationUtil.serialize(event), event.getClass());
+        }
+        report(event, "string-json", json.length(), System.nanoTime() - start);
+    }
+
+    private void measure(DomainEvent event, EventSerializer serializer) {
+        byte[] bytes = serializer.serialize(event);
+        assertThat(serializer.deserialize(bytes, event.getClass())).isEqualTo(event);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.deserialize(serializer.serialize(event), event.getClass());
+        }
+        report(event, serializer.id(), bytes.length, System.nanoTime() - start);
+    }
+
+    private static void report(DomainEvent event, String codec, int bytes, long nanos) {
+        System.out.printf("%-26s %-12s %4d bytes, %,6d ns per round trip%n",
+                event.getClass().getSimpleName(), codec, bytes, nanos / ITERATIONS);
+    }
+}
@@ -0,0 +1,69 @@
+package com.disasterrelief.core.event.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.util.EventSerializationUtil;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class JacksonEventSerializerTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-27T10:00:00.123456Z");
+
+    private final CommandIssuedEvent event = new CommandIssuedEvent(UUID.randomUUID(), UUID.randomUUID(),
+            new Message("Evacuate sector 4", UUID.randomUUID(), NOW), NOW, NOW.plusSeconds(600),
+            UUID.randomUUID(), Set.of(UUID.randomUUID(), UUID.randomUUID()));
+
+    static Stream<EventSerializer> serializers() {
+        return Stream.of(JacksonEventSerializer.json(), JacksonEventSerializer.smile(), JacksonEventSerializer.cbor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("serializers")
+    void roundTripsThroughArraysAndBuffers(EventSerializer serializer) {
+        byte[] bytes = serializer.serialize(event);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3).position(3);
+        direct.put(bytes).position(3);
+        ByteBuffer slice = ByteBuffer.wrap(new byte[bytes.length + 5], 2, bytes.length).slice().put(bytes).flip();
+
+        assertThat(serializer.deserialize(bytes, CommandIssuedEvent.class)).isEqualTo(event);
+        assertThat(serializer.deserialize(direct, CommandIssuedEvent.class)).isEqualTo(event);
+        assertThat(serializer.deserialize(slice, CommandIssuedEvent.class)).isEqualTo(event);
+        assertThat(direct.position()).isEqualTo(3);
+    }
+
+    @Test
+    void jsonCodecMatchesStoredJson() {
+        byte[] bytes = JacksonEventSerializer.json().serialize(event);
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(EventSerializationUtil.serialize(event));
+    }
+
+    @Test
+    void binaryCodecsAreSmallerThanJson() {
+        int json = JacksonEventSerializer.json().serialize(event).length;
+
+        assertThat(JacksonEventSerializer.smile().serialize(event).length).isLessThan(json);
+        assertThat(JacksonEventSerializer.cbor().serialize(event).length).isLessThan(json);
+    }
+
+    @Test
+    void resolvesCodecsById() {
+        EventSerializers serializers = EventSerializers.jackson(JacksonEventSerializer.SMILE);
+
+        assertThat(serializers.writer().id()).isEqualTo(JacksonEventSerializer.SMILE);
+        assertThat(serializers.get(JacksonEventSerializer.JSON).id()).isEqualTo(JacksonEventSerializer.JSON);
+        assertThatThrownBy(() -> serializers.get("xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
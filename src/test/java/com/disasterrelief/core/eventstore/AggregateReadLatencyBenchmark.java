@@ -0,0 +1,118 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Measures {@link EventStore#readByAggregateId(UUID)} latency while {@code persisted_events} grows to
+ * {@code -Dbenchmark.rows} rows (default 50M) spread over twelve monthly partitions, with ten events per
+ * aggregate. Latency is sampled at 2%, 10%, 50% and 100% of the target size and should stay flat.
+ * Run with {@code mvn test -Pbenchmark -Dtest=AggregateReadLatencyBenchmark}.
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = AggregateReadLatencyBenchmark.Initializer.class)
+@Testcontainers
+class AggregateReadLatencyBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 50_000_000L);
+    private static final int EVENTS_PER_AGGREGATE = 10;
+    private static final int SAMPLES = 1_000;
+    private static final long SEED_CHUNK = 1_000_000L;
+    private static final double SECONDS_PER_ROW = 365.0 * 24 * 3600 / ROWS;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.jpa.show-sql=false"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore eventStore;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readLatencyStaysFlatAsTableGrows() {
+        for (int month = 1; month <= 13; month++) {
+            jdbcTemplate.queryForList(
+                    "select create_persisted_events_partition((date '2025-01-01' + make_interval(months => ?))::date)",
+                    month - 1);
+        }
+
+        long seeded = 0;
+        for (long checkpoint : new long[] {ROWS / 50, ROWS / 10, ROWS / 2, ROWS}) {
+            for (; seeded < checkpoint; seeded = Math.min(seeded + SEED_CHUNK, checkpoint)) {
+                seed(seeded, Math.min(seeded + SEED_CHUNK, checkpoint));
+            }
+            jdbcTemplate.execute("analyze persisted_events");
+            report(seeded, sampleLatencies(seeded));
+        }
+    }
+
+    private void seed(long from, long to) {
+        jdbcTemplate.update("""
+                insert into persisted_events (id, saga_id, version, event_type, event_payload, created_at)
+                select gen_random_uuid(), md5((g / ?)::text)::uuid, g % ? + 1, ?,
+                       jsonb_build_object('aggregateId', md5((g / ?)::text)::uuid, 'occurredAt', 0),
+                       timestamptz '2025-01-01' + g * ? * interval '1 second'
+                from generate_series(?::bigint, ?::bigint) g
+                """, EVENTS_PER_AGGREGATE, EVENTS_PER_AGGREGATE, DummyEvent.class.getName(),
+                EVENTS_PER_AGGREGATE, SECONDS_PER_ROW, from, to - 1);
+    }
+
+    private long[] sampleLatencies(long rows) {
+        long aggregates = rows / EVENTS_PER_AGGREGATE;
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            UUID aggregateId = aggregateId(ThreadLocalRandom.current().nextLong(aggregates));
+            long start = System.nanoTime();
+            List<?> events = eventStore.readByAggregateId(aggregateId);
+            nanos[i] = System.nanoTime() - start;
+            assertThat(events).hasSize(EVENTS_PER_AGGREGATE);
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private UUID aggregateId(long aggregate) {
+        return jdbcTemplate.queryForObject("select md5(?::text)::uuid", UUID.class, Long.toString(aggregate));
+    }
+
+    private static void report(long rows, long[] sortedNanos) {
+        List<String> percentiles = new ArrayList<>();
+        for (double p : new double[] {0.5, 0.9, 0.99}) {
+            long micros = sortedNanos[(int) Math.min(sortedNanos.length - 1, p * sortedNanos.length)] / 1_000;
+            percentiles.add(String.format("p%.0f %,d us", p * 100, micros));
+        }
+        System.out.printf("%,14d rows: readByAggregateId %s%n", rows, String.join(", ", percentiles));
+    }
+}
@@ -0,0 +1,133 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.disasterrelief.core.event.DomainEvent;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour every {@link EventStore} implementation must share. Each test expects an empty store.
+ */
+public abstract class EventStoreContractTest {
+
+    protected abstract EventStore eventStore();
+
+    @Test
+    void persistsAndReadsBackDomainEvent() {
+        UUID commandId = UUID.randomUUID();
+
+        DomainEvent event = new DummyEvent(commandId, Instant.now());
+
+        eventStore().append(event);
+
+        List<DomainEvent> events = eventStore().readByAggregateId(commandId);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().aggregateId()).isEqualTo(commandId);
+        assertThat(events.getFirst()).isInstanceOf(DummyEvent.class);
+        assertThat(events.getFirst().occurredAt()).isNotNull();
+
+    }
+
+    @Test
+    void appendsBatchOfEventsInOneCall() {
+        UUID commandId = UUID.randomUUID();
+        Instant now = Instant.now();
+
+        eventStore().appendAll(List.of(
+                new DummyEvent(commandId, now),
+                new DummyEvent(commandId, now.plusSeconds(1)),
+                new DummyEvent(commandId, now.plusSeconds(2))));
+
+        List<DomainEvent> events = eventStore().readByAggregateId(commandId);
+
+        assertThat(events).hasSize(3);
+        assertThat(events).allMatch(e -> e.aggregateId().equals(commandId));
+    }
+
+    @Test
+    void appendsWithExpectedVersionAndRejectsStaleWriters() {
+        UUID commandId = UUID.randomUUID();
+        Instant first = Instant.parse("2025-06-27T10:00:00Z");
+
+        eventStore().append(List.of(new DummyEvent(commandId, first)), 0);
+        eventStore().append(List.of(new DummyEvent(commandId, first.plusSeconds(1))), 1);
+
+        assertThatThrownBy(() -> eventStore().append(List.of(new DummyEvent(commandId, first.plusSeconds(2))), 1))
+                .isInstanceOf(ConcurrencyConflictException.class);
+
+        List<DomainEvent> events = eventStore().readByAggregateId(commandId);
+        assertThat(events).extracting(DomainEvent::occurredAt)
+                .containsExactly(first, first.plusSeconds(1));
+        assertThat(eventStore().readByAggregateId(commandId, 1)).extracting(DomainEvent::occurredAt)
+                .containsExactly(first.plusSeconds(1));
+    }
+
+    @Test
+    void settledPositionNeverPassesTheNewestEvent() {
+        eventStore().appendAll(List.of(new DummyEvent(UUID.randomUUID(), Instant.now()),
+                new DummyEvent(UUID.randomUUID(), Instant.now())));
+        long newest = eventStore().readFrom(0, 10).getLast().position();
+
+        assertThat(eventStore().settledPosition()).isBetween(0L, newest);
+    }
+
+    @Test
+    void streamsAllEventsAcrossPages() {
+        Instant now = Instant.now();
+        List<DomainEvent> appended = List.of(
+                new DummyEvent(UUID.randomUUID(), now),
+                new DummyEvent(UUID.randomUUID(), now),
+                new DummyEvent(UUID.randomUUID(), now),
+                new DummyEvent(UUID.randomUUID(), now),
+                new DummyEvent(UUID.randomUUID(), now));
+        eventStore().appendAll(appended);
+
+        try (Stream<DomainEvent> events = eventStore().streamAll()) {
+            assertThat(events.toList()).containsExactlyInAnyOrderElementsOf(appended);
+        }
+    }
+
+    @Test
+    void readsFromCheckpointInGlobalOrder() {
+        Instant now = Instant.now();
+        DomainEvent first = new DummyEvent(UUID.randomUUID(), now);
+        DomainEvent second = new DummyEvent(UUID.randomUUID(), now);
+        DomainEvent third = new DummyEvent(UUID.randomUUID(), now);
+        eventStore().appendAll(List.of(first, second, third));
+
+        List<RecordedEvent> firstBatch = eventStore().readFrom(0, 2);
+        assertThat(firstBatch).extracting(RecordedEvent::event).containsExactly(first, second);
+
+        long checkpoint = firstBatch.getLast().position();
+        List<RecordedEvent> secondBatch = eventStore().readFrom(checkpoint, 2);
+        assertThat(secondBatch).extracting(RecordedEvent::event).containsExactly(third);
+        assertThat(secondBatch.getFirst().position()).isGreaterThan(checkpoint);
+        assertThat(eventStore().readFrom(secondBatch.getLast().position(), 2)).isEmpty();
+    }
+
+    @Test
+    void readsEnvelopesCarryingTheEventHeader() {
+        UUID aggregateId = UUID.randomUUID();
+        DomainEvent event = new DummyEvent(aggregateId, Instant.now());
+        eventStore().append(event);
+
+        List<EventEnvelope> envelopes = eventStore().readEnvelopesFrom(0, 10);
+
+        assertThat(envelopes).hasSize(1);
+        EventEnvelope envelope = envelopes.getFirst();
+        assertThat(envelope.aggregateId()).isEqualTo(aggregateId);
+        assertThat(envelope.is(DummyEvent.class)).isTrue();
+        assertThat(envelope.event()).isEqualTo(event);
+        try (Stream<EventEnvelope> stream = eventStore().streamEnvelopes()) {
+            assertThat(stream.map(EventEnvelope::event).toList()).containsExactly(event);
+        }
+    }
+
+    public record DummyEvent(UUID aggregateId, Instant occurredAt) implements DomainEvent {}
+}
@@ -2,20 +2,24 @@ package com.disasterrelief.core.eventstore;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
 import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.codec.EventSerializer;
+import com.disasterrelief.core.event.codec.JacksonEventSerializer;
 import jakarta.annotation.Resource;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
-import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -24,7 +28,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 @SpringBootTest
 @ContextConfiguration(initializers = EventStoreIntegrationTest.Initializer.class)
 @Testcontainers
-public class EventStoreIntegrationTest {
+public class EventStoreIntegrationTest extends EventStoreContractTest {
 
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
@@ -38,7 +42,8 @@ public class EventStoreIntegrationTest {
                     "spring.datasource.url=" + postgres.getJdbcUrl(),
                     "spring.datasource.username=" + postgres.getUsername(),
                     "spring.datasource.password=" + postgres.getPassword(),
-                    "spring.jpa.hibernate.ddl-auto=create-drop"
+                    "eventstore.read.page-size=2",
+                    "eventstore.read.gap-timeout=0s"
             ).applyTo(ctx.getEnvironment());
         }
     }
@@ -46,23 +51,115 @@ public class EventStoreIntegrationTest {
     @Resource
     private JpaEventStore eventStore;
 
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private PartitionMaintenance partitionMaintenance;
+
+    @BeforeEach
+    void clearStore() {
+        jdbcTemplate.execute("truncate persisted_events, event_streams");
+    }
+
     @Test
-    @Transactional
-    void persistsAndReadsBackDomainEvent() {
-        UUID commandId = UUID.randomUUID();
+    void routesEventsToMonthlyPartitionsAndDetachesExpiredOnes() {
+        UUID sagaId = UUID.randomUUID();
+        jdbcTemplate.execute("drop table if exists persisted_events_p2020_01");
+        jdbcTemplate.queryForList("select create_persisted_events_partition(date '2020-01-15')");
+        jdbcTemplate.update("""
+                insert into persisted_events (id, saga_id, version, event_type, event_payload, created_at)
+                values (gen_random_uuid(), ?, 1, 'test', '{}'::jsonb, timestamptz '2020-01-31 23:00Z')
+                """, sagaId);
+        eventStore.append(new DummyEvent(UUID.randomUUID(), Instant.now()));
 
-        DomainEvent event = new DummyEvent(commandId, Instant.now());
+        assertThat(jdbcTemplate.queryForObject(
+                "select tableoid::regclass::text from persisted_events where saga_id = ?", String.class, sagaId))
+                .isEqualTo("persisted_events_p2020_01");
 
-        eventStore.append( event);
+        assertThat(partitionMaintenance.detachOlderThan(1)).contains("persisted_events_p2020_01");
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from persisted_events where saga_id = ?", Long.class, sagaId)).isZero();
+        assertThat(eventStore.readFrom(0, 10)).hasSize(1);
+    }
+
+    @Test
+    void movesEventsOutOfTheDefaultPartitionWhenTheirMonthIsCreated() {
+        UUID sagaId = UUID.randomUUID();
+        jdbcTemplate.execute("drop table if exists persisted_events_p2099_03");
+        jdbcTemplate.update("""
+                insert into persisted_events (id, saga_id, version, event_type, event_payload, created_at)
+                values (gen_random_uuid(), ?, 1, 'test', '{}'::jsonb, timestamptz '2099-03-15 12:00Z')
+                """, sagaId);
 
-        List<DomainEvent> events = eventStore.readByAggregateId(commandId);
+        jdbcTemplate.queryForList("select create_persisted_events_partition(date '2099-03-01')");
 
-        assertThat(events).hasSize(1);
-        assertThat(events.getFirst().aggregateId()).isEqualTo(commandId);
-        assertThat(events.getFirst()).isInstanceOf(DummyEvent.class);
-        assertThat(events.getFirst().occurredAt()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "select tableoid::regclass::text from persisted_events where saga_id = ?", String.class, sagaId))
+                .isEqualTo("persisted_events_p2099_03");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from persisted_events_default", Long.class))
+                .isZero();
+        jdbcTemplate.execute("drop table persisted_events_p2099_03");
+    }
+
+    @Test
+    void filtersEventsByPayloadContentAndReadsBothStorageModes() {
+        UUID wanted = UUID.randomUUID();
+        UUID stored = UUID.randomUUID();
+        eventStore.append(new DummyEvent(wanted, Instant.now()));
+        eventStore.append(new DummyEvent(UUID.randomUUID(), Instant.now()));
+        jdbcTemplate.update("""
+                insert into persisted_events (id, saga_id, version, event_type, event_payload_bytes, created_at)
+                values (gen_random_uuid(), ?, 1, ?, convert_to(?, 'UTF8'), now())
+                """, stored, DummyEvent.class.getName(), "{\"aggregateId\":\"" + stored + "\",\"occurredAt\":0}");
 
+        assertThat(eventStore.readByPayload(DummyEvent.class, "{\"aggregateId\":\"" + wanted + "\"}"))
+                .extracting(DomainEvent::aggregateId)
+                .containsExactly(wanted);
+        assertThat(eventStore.readByAggregateId(stored))
+                .extracting(DomainEvent::aggregateId)
+                .containsExactly(stored);
     }
 
-    public record DummyEvent(UUID aggregateId, Instant occurredAt) implements DomainEvent {}
+    @Test
+    void readsEventsWrittenWithEveryCodec() {
+        UUID aggregateId = UUID.randomUUID();
+        eventStore.append(new DummyEvent(aggregateId, Instant.now()));
+        for (EventSerializer serializer : List.of(JacksonEventSerializer.smile(), JacksonEventSerializer.cbor())) {
+            jdbcTemplate.update("""
+                    insert into persisted_events (id, saga_id, version, event_type, event_payload_bytes, codec, created_at)
+                    values (gen_random_uuid(), ?, 2, ?, ?, ?, now())
+                    """, aggregateId, DummyEvent.class.getName(),
+                    serializer.serialize(new DummyEvent(aggregateId, Instant.now())), serializer.id());
+        }
+
+        assertThat(eventStore.readByAggregateId(aggregateId))
+                .hasSize(3)
+                .allMatch(event -> event instanceof DummyEvent && event.aggregateId().equals(aggregateId));
+    }
+
+    @Test
+    void readsPromotedHeadersWithoutDecodingThePayload() {
+        UUID commandId = UUID.randomUUID();
+        UUID teamId = UUID.randomUUID();
+        UUID memberId = UUID.randomUUID();
+        CommandAcknowledgedEvent event = new CommandAcknowledgedEvent(commandId, teamId, memberId, Instant.now());
+        eventStore.append(event);
+
+        assertThat(jdbcTemplate.queryForMap("select team_id, member_id from persisted_events where saga_id = ?",
+                commandId)).containsEntry("team_id", teamId).containsEntry("member_id", memberId);
+
+        EventEnvelope envelope = eventStore.readEnvelopesFrom(0, 10).getFirst();
+        assertThat(envelope.is(CommandAcknowledgedEvent.class)).isTrue();
+        assertThat(envelope.teamId()).isEqualTo(teamId);
+        assertThat(envelope.memberId()).isEqualTo(memberId);
+        assertThat(envelope.version()).isEqualTo(1);
+        assertThat(envelope.isDecoded()).isFalse();
+        assertThat(envelope.event()).isEqualTo(event);
+    }
+
+    @Override
+    protected EventStore eventStore() {
+        return eventStore;
+    }
 }
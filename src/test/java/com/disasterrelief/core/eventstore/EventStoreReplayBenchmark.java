@@ -0,0 +1,100 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import jakarta.annotation.Resource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Replays a large store through {@link EventStore#streamAll()} inside the fixed heap set by the
+ * {@code benchmark} profile. Run with {@code mvn test -Pbenchmark -Dtest=EventStoreReplayBenchmark}
+ * and {@code -Dbenchmark.events=...} to change the store size (default 10M).
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = EventStoreReplayBenchmark.Initializer.class)
+@Testcontainers
+class EventStoreReplayBenchmark {
+
+    private static final long EVENTS = Long.getLong("benchmark.events", 10_000_000L);
+    private static final long SEED_CHUNK = 500_000L;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.jpa.show-sql=false"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore eventStore;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        for (long from = 1; from <= EVENTS; from += SEED_CHUNK) {
+            long to = Math.min(from + SEED_CHUNK - 1, EVENTS);
+            jdbcTemplate.update("""
+                    insert into persisted_events (id, saga_id, version, event_type, event_payload, created_at)
+                    select gen_random_uuid(), s.saga_id, 1, ?,
+                           jsonb_build_object(
+                               'aggregateId', s.saga_id,
+                               'occurredAt', extract(epoch from s.created_at)),
+                           s.created_at
+                    from (select gen_random_uuid() as saga_id,
+                                 timestamptz '2025-01-01' + g * interval '1 millisecond' as created_at
+                          from generate_series(?::bigint, ?::bigint) g) s
+                    """, DummyEvent.class.getName(), from, to);
+        }
+    }
+
+    @Test
+    void replaysWholeStoreInFixedHeap() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        AtomicLong replayed = new AtomicLong();
+
+        long start = System.nanoTime();
+        try (Stream<DomainEvent> events = eventStore.streamAll()) {
+            events.forEach(event -> replayed.incrementAndGet());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        System.out.printf("Replayed %,d events in %,d ms (%,d events/s), max heap %,d MB, peak heap %,d MB%n",
+                replayed.get(), elapsedMillis, replayed.get() * 1000 / Math.max(elapsedMillis, 1),
+                Runtime.getRuntime().maxMemory() / (1024 * 1024), peakHeap / (1024 * 1024));
+
+        assertThat(replayed.get()).isEqualTo(EVENTS);
+    }
+}
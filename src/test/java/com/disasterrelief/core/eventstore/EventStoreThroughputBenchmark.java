@@ -0,0 +1,102 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import com.disasterrelief.core.eventstore.file.FileEventStore;
+import com.disasterrelief.core.eventstore.file.FsyncPolicy;
+import jakarta.annotation.Resource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares append and replay throughput of {@link JpaEventStore} and {@link FileEventStore}. Run with
+ * {@code mvn test -Pbenchmark -Dtest=EventStoreThroughputBenchmark}; {@code -Dbenchmark.events=...} sets the
+ * number of events (default 200k) and {@code -Dbenchmark.batch=...} the events per append (default 100).
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = EventStoreThroughputBenchmark.Initializer.class)
+@Testcontainers
+class EventStoreThroughputBenchmark {
+
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 200_000);
+    private static final int BATCH = Integer.getInteger("benchmark.batch", 100);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.jpa.show-sql=false"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore jpaEventStore;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void comparesAppendAndReplayThroughput() throws IOException {
+        measure("jpa", jpaEventStore);
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            try (FileEventStore fileEventStore = new FileEventStore(directory.resolve(policy.name()),
+                    64 * 1024 * 1024, policy, Duration.ofSeconds(1))) {
+                measure("file/" + policy, fileEventStore);
+            }
+        }
+    }
+
+    private void measure(String name, EventStore eventStore) {
+        Instant now = Instant.now();
+        long start = System.nanoTime();
+        for (int appended = 0; appended < EVENTS; appended += BATCH) {
+            List<DomainEvent> batch = new ArrayList<>(BATCH);
+            UUID aggregateId = UUID.randomUUID();
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(new DummyEvent(aggregateId, now));
+            }
+            eventStore.append(batch, 0);
+        }
+        long appendMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        AtomicLong replayed = new AtomicLong();
+        start = System.nanoTime();
+        try (Stream<DomainEvent> events = eventStore.streamAll()) {
+            events.forEach(event -> replayed.incrementAndGet());
+        }
+        long replayMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        System.out.printf("%-14s append %,d events in %,d ms (%,d events/s), replay in %,d ms (%,d events/s)%n",
+                name, EVENTS, appendMillis, EVENTS * 1000L / appendMillis,
+                replayMillis, replayed.get() * 1000 / replayMillis);
+        assertThat(replayed.get()).isGreaterThanOrEqualTo(EVENTS);
+    }
+}
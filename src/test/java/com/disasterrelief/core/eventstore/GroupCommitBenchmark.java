@@ -0,0 +1,99 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Throughput and append latency of single-event appends from many threads, committed one transaction each and
+ * through {@link GroupCommitEventStore} at several linger times. Run with
+ * {@code mvn test -Pbenchmark -Dtest=GroupCommitBenchmark}; {@code -Dbenchmark.threads=...} sets the number of
+ * writers (default 64) and {@code -Dbenchmark.appends=...} the appends per writer (default 200).
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = GroupCommitBenchmark.Initializer.class)
+@Testcontainers
+class GroupCommitBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+    private static final int APPENDS = Integer.getInteger("benchmark.appends", 200);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.datasource.hikari.maximum-pool-size=" + THREADS,
+                    "spring.jpa.show-sql=false"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore jpaEventStore;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void comparesTransactionPerAppendWithGroupCommit() throws Exception {
+        measure("direct", jpaEventStore);
+        for (int lingerMillis : new int[] {1, 2, 5}) {
+            try (GroupCommitEventStore groupCommit = new GroupCommitEventStore(jpaEventStore, transactionManager,
+                    256, Duration.ofMillis(lingerMillis), 10_000, Duration.ofSeconds(30), new SimpleMeterRegistry())) {
+                measure("group/" + lingerMillis + "ms", groupCommit);
+            }
+        }
+    }
+
+    private void measure(String name, EventStore eventStore) throws InterruptedException {
+        long[] nanos = new long[THREADS * APPENDS];
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService threads = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                threads.submit(() -> {
+                    for (int i = 0; i < APPENDS; i++) {
+                        long appendStart = System.nanoTime();
+                        eventStore.append(List.of(new DummyEvent(UUID.randomUUID(), Instant.now())), 0);
+                        nanos[next.getAndIncrement()] = System.nanoTime() - appendStart;
+                    }
+                });
+            }
+        }
+        long elapsedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        Arrays.sort(nanos);
+        System.out.printf("%-12s %,d appends in %,d ms (%,d appends/s), p50 %,d us, p99 %,d us%n",
+                name, nanos.length, elapsedMillis, nanos.length * 1000L / elapsedMillis,
+                nanos[nanos.length / 2] / 1000, nanos[(int) (nanos.length * 0.99)] / 1000);
+        assertThat(next.get()).isEqualTo(THREADS * APPENDS);
+    }
+}
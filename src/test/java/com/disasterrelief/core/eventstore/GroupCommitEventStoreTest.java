@@ -0,0 +1,152 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import com.disasterrelief.core.eventstore.file.FileEventStore;
+import com.disasterrelief.core.eventstore.file.FsyncPolicy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class GroupCommitEventStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FileEventStore delegate;
+    private GroupCommitEventStore eventStore;
+
+    @BeforeEach
+    void open() {
+        delegate = new FileEventStore(directory, 1024 * 1024, FsyncPolicy.NEVER, Duration.ofSeconds(1));
+        eventStore = new GroupCommitEventStore(delegate, mock(PlatformTransactionManager.class),
+                64, Duration.ofMillis(50), 1000, Duration.ofSeconds(30), meterRegistry);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        eventStore.close();
+        delegate.close();
+    }
+
+    @Test
+    void coalescesConcurrentAppendsIntoFewerBatches() {
+        int appends = 200;
+        try (ExecutorService threads = Executors.newFixedThreadPool(32)) {
+            IntStream.range(0, appends).forEach(i -> threads.submit(() ->
+                    eventStore.append(List.of(new DummyEvent(UUID.randomUUID(), Instant.now())), 0)));
+        }
+
+        DistributionSummary batchSizes = meterRegistry.get("eventstore.group-commit.batch.size").summary();
+        assertThat(batchSizes.totalAmount()).isEqualTo(appends);
+        assertThat(batchSizes.count()).isLessThan(appends);
+        assertThat(eventStore.readAll()).hasSize(appends);
+    }
+
+    @Test
+    void failsOnlyTheConflictingAppendOfABatch() {
+        UUID contended = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        Instant now = Instant.now();
+
+        CompletableFuture<Void> first = eventStore.appendAsync(List.of(new DummyEvent(contended, now)), 0);
+        CompletableFuture<Void> conflicting = eventStore.appendAsync(List.of(new DummyEvent(contended, now)), 0);
+        CompletableFuture<Void> unrelated = eventStore.appendAsync(List.of(new DummyEvent(other, now)), 0);
+
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(unrelated).succeedsWithin(Duration.ofSeconds(5));
+        assertThatThrownBy(conflicting::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ConcurrencyConflictException.class);
+        assertThat(eventStore.readByAggregateId(contended)).hasSize(1);
+        assertThat(meterRegistry.get("eventstore.group-commit.batch.size").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void synchronousAppendRethrowsConflict() {
+        UUID aggregateId = UUID.randomUUID();
+        List<DomainEvent> events = List.of(new DummyEvent(aggregateId, Instant.now()));
+        eventStore.append(events, 0);
+
+        assertThatThrownBy(() -> eventStore.append(events, 0)).isInstanceOf(ConcurrencyConflictException.class);
+    }
+
+    @Test
+    void commitsQueuedAppendsOnCloseAndRejectsLaterOnes() {
+        CompletableFuture<Void> queued = eventStore.appendAllAsync(
+                List.of(new DummyEvent(UUID.randomUUID(), Instant.now())));
+
+        eventStore.close();
+
+        assertThat(queued).isCompleted();
+        assertThat(delegate.readAll()).hasSize(1);
+        assertThatThrownBy(() -> eventStore.append(new DummyEvent(UUID.randomUUID(), Instant.now())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void everyAppendRacingCloseEitherCommitsOrFails() throws Exception {
+        List<Future<CompletableFuture<Void>>> appends = new ArrayList<>();
+        try (ExecutorService threads = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 2000; i++) {
+                appends.add(threads.submit(() -> eventStore.appendAllAsync(
+                        List.of(new DummyEvent(UUID.randomUUID(), Instant.now())))));
+            }
+            eventStore.close();
+        }
+
+        for (Future<CompletableFuture<Void>> append : appends) {
+            try {
+                CompletableFuture<Void> result = append.get(5, TimeUnit.SECONDS);
+                assertThat(result).succeedsWithin(Duration.ofSeconds(5));
+            } catch (ExecutionException e) {
+                assertThat(e).hasCauseInstanceOf(IllegalStateException.class);
+            }
+        }
+    }
+
+    @Test
+    void synchronousAppendGivesUpAfterTheTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        EventStore stuck = mock(EventStore.class);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(stuck).appendAll(anyList());
+
+        try (GroupCommitEventStore slow = new GroupCommitEventStore(stuck, mock(PlatformTransactionManager.class),
+                64, Duration.ZERO, 1000, Duration.ofMillis(100), meterRegistry)) {
+            assertThatThrownBy(() -> slow.append(new DummyEvent(UUID.randomUUID(), Instant.now())))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("not committed");
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.disasterrelief.core.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * A database created by the first ddl-auto schema, before versions and global positions, brought under Flyway
+ * the way {@code application.yml} configures it.
+ */
+@Testcontainers
+class LegacySchemaMigrationIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Test
+    void upgradesAnUnversionedDdlAutoSchemaInPlace() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table persisted_events (
+                    id            uuid                        not null primary key,
+                    saga_id       uuid                        not null,
+                    event_type    varchar(255)                not null,
+                    event_payload oid                         not null,
+                    created_at    timestamp(6) with time zone not null
+                )""");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        insertLegacy(jdbcTemplate, first, "2025-06-27 10:00Z");
+        insertLegacy(jdbcTemplate, second, "2025-06-27 10:01Z");
+        insertLegacy(jdbcTemplate, first, "2025-06-27 10:02Z");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        List<String> rows = jdbcTemplate.query("""
+                select saga_id, version, global_position, event_payload ->> 'n' as n
+                from persisted_events order by global_position""",
+                (rs, rowNum) -> rs.getObject("saga_id") + "/" + rs.getLong("version") + "/"
+                        + rs.getLong("global_position") + "/" + rs.getString("n"));
+        assertThat(rows).containsExactly(
+                first + "/1/1/2025-06-27 10:00Z",
+                second + "/1/2/2025-06-27 10:01Z",
+                first + "/2/3/2025-06-27 10:02Z");
+        assertThat(jdbcTemplate.queryForObject(
+                "select version from event_streams where stream_id = ?", Long.class, first)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "select nextval('persisted_events_global_position_seq')", Long.class)).isGreaterThan(3);
+    }
+
+    private static void insertLegacy(JdbcTemplate jdbcTemplate, UUID sagaId, String createdAt) {
+        jdbcTemplate.update("""
+                insert into persisted_events (id, saga_id, event_type, event_payload, created_at)
+                values (gen_random_uuid(), ?, 'test', lo_from_bytea(0, convert_to(?, 'UTF8')), ?::timestamptz)""",
+                sagaId, "{\"n\":\"" + createdAt + "\"}", createdAt);
+    }
+}
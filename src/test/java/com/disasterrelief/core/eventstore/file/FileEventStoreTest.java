@@ -0,0 +1,98 @@
+package com.disasterrelief.core.eventstore.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventStore;
+import com.disasterrelief.core.eventstore.EventStoreContractTest;
+import com.disasterrelief.core.eventstore.RecordedEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileEventStoreTest extends EventStoreContractTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private FileEventStore eventStore;
+
+    @BeforeEach
+    void open() {
+        eventStore = new FileEventStore(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        eventStore.close();
+    }
+
+    @Override
+    protected EventStore eventStore() {
+        return eventStore;
+    }
+
+    @Test
+    void rollsSegmentsAndRebuildsIndexesOnReopen() throws IOException {
+        UUID aggregateId = UUID.randomUUID();
+        Instant now = Instant.parse("2025-06-27T10:00:00Z");
+        List<DomainEvent> appended = new ArrayList<>();
+        for (int i = 0; i < FileEventStore.INDEX_INTERVAL + 100; i++) {
+            DomainEvent event = new DummyEvent(i % 2 == 0 ? aggregateId : UUID.randomUUID(), now.plusSeconds(i));
+            eventStore.append(event);
+            appended.add(event);
+        }
+        assertThat(directory.toFile().list()).hasSizeGreaterThan(1);
+
+        eventStore.close();
+        eventStore = new FileEventStore(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+
+        assertThat(eventStore.readAll()).containsExactlyElementsOf(appended);
+        assertThat(eventStore.readByAggregateId(aggregateId)).hasSize((FileEventStore.INDEX_INTERVAL + 100) / 2);
+        List<RecordedEvent> page = eventStore.readFrom(FileEventStore.INDEX_INTERVAL + 10, 5);
+        assertThat(page).extracting(RecordedEvent::position)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 5)
+                        .mapToObj(i -> (long) FileEventStore.INDEX_INTERVAL + 10 + i).toList());
+    }
+
+    @Test
+    void truncatesTornWriteAndKeepsAppending() throws IOException {
+        UUID aggregateId = UUID.randomUUID();
+        Instant now = Instant.parse("2025-06-27T10:00:00Z");
+        eventStore.append(List.of(new DummyEvent(aggregateId, now)), 0);
+        eventStore.append(List.of(new DummyEvent(aggregateId, now.plusSeconds(1))), 1);
+        eventStore.close();
+
+        corruptLastRecord(directory.resolve(Segment.fileName(0)));
+
+        eventStore = new FileEventStore(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+        assertThat(eventStore.readByAggregateId(aggregateId)).extracting(DomainEvent::occurredAt)
+                .containsExactly(now);
+
+        eventStore.append(List.of(new DummyEvent(aggregateId, now.plusSeconds(2))), 1);
+        assertThat(eventStore.readFrom(0, 10)).extracting(RecordedEvent::position).containsExactly(1L, 2L);
+    }
+
+    private static void corruptLastRecord(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, 0);
+            int secondRecord = 8 + length.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[] {42}), secondRecord + 20);
+        }
+    }
+}
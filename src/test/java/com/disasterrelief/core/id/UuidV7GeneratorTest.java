@@ -0,0 +1,55 @@
+package com.disasterrelief.core.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final UuidV7Generator generator = new UuidV7Generator(clock);
+
+    @Test
+    void encodesTimestampVersionAndVariant() {
+        long millis = Instant.parse("2025-06-27T10:00:00.123Z").toEpochMilli();
+        when(clock.millis()).thenReturn(millis);
+
+        UUID id = generator.nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(millis);
+        assertThat(id.toString()).startsWith(String.format("%08x-%04x", millis >>> 16, millis & 0xffff));
+    }
+
+    @Test
+    void sortsByCreationTimeAcrossMilliseconds() {
+        when(clock.millis()).thenReturn(1_000L, 1_001L, 1_002L);
+
+        UUID first = generator.nextId();
+        UUID second = generator.nextId();
+        UUID third = generator.nextId();
+
+        assertThat(first.toString()).isLessThan(second.toString());
+        assertThat(second.toString()).isLessThan(third.toString());
+    }
+
+    @Test
+    void staysUniqueUnderConcurrencyWithinOneMillisecond() {
+        UuidV7Generator fixed = new UuidV7Generator(Clock.fixed(Instant.ofEpochMilli(1_000), ZoneOffset.UTC));
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(fixed.nextId()));
+
+        assertThat(ids).hasSize(100_000);
+    }
+}
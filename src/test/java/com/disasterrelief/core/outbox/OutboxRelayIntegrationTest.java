@@ -0,0 +1,120 @@
+package com.disasterrelief.core.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import com.disasterrelief.core.eventstore.JpaEventStore;
+import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.KafkaContainer;
+
+@SpringBootTest
+@ContextConfiguration(initializers = OutboxRelayIntegrationTest.Initializer.class)
+@Testcontainers
+class OutboxRelayIntegrationTest {
+
+    private static final String TOPIC = "outbox-test";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer("apache/kafka-native:3.8.0");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.kafka.bootstrap-servers=" + kafka.getBootstrapServers(),
+                    "eventstore.outbox.enabled=true",
+                    "eventstore.outbox.topic=" + TOPIC,
+                    "eventstore.outbox.batch-size=2",
+                    "eventstore.outbox.linger=1h"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaEventStore eventStore;
+
+    @Resource
+    private OutboxRelay relay;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearStore() {
+        jdbcTemplate.execute("truncate persisted_events, event_streams, event_outbox");
+    }
+
+    @Test
+    void publishesAppendedEventsInOrderPerAggregateAndEmptiesTheOutbox() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Instant now = Instant.parse("2025-06-27T10:00:00Z");
+        eventStore.append(List.of(new DummyEvent(first, now), new DummyEvent(first, now.plusSeconds(1))), 0);
+        eventStore.append(List.of(new DummyEvent(second, now)), 0);
+        eventStore.append(List.of(new DummyEvent(first, now.plusSeconds(2))), 2);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from event_outbox", Long.class)).isEqualTo(4);
+
+        relay.relay();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from event_outbox", Long.class)).isZero();
+        List<ConsumerRecord<String, byte[]>> records = consume(4);
+        assertThat(records).extracting(ConsumerRecord::key)
+                .containsExactlyInAnyOrder(first.toString(), first.toString(), second.toString(), first.toString());
+        List<UUID> firstIds = jdbcTemplate.queryForList(
+                "select id from persisted_events where saga_id = ? order by version", UUID.class, first);
+        assertThat(records.stream()
+                .filter(record -> record.key().equals(first.toString()))
+                .map(record -> UUID.fromString(
+                        new String(record.headers().lastHeader("event-id").value(), StandardCharsets.UTF_8)))
+                .toList())
+                .isEqualTo(firstIds);
+    }
+
+    private static List<ConsumerRecord<String, byte[]>> consume(int count) {
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"),
+                new StringDeserializer(), new ByteArrayDeserializer())) {
+            consumer.subscribe(List.of(TOPIC));
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (records.size() < count && System.nanoTime() < deadline) {
+                consumer.poll(Duration.ofMillis(500)).forEach(records::add);
+            }
+        }
+        return records;
+    }
+}
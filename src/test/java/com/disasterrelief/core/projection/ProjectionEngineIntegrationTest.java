@@ -0,0 +1,166 @@
+package com.disasterrelief.core.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import com.disasterrelief.core.eventstore.EventStoreContractTest.DummyEvent;
+import com.disasterrelief.core.eventstore.JpaEventStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@ContextConfiguration(initializers = ProjectionEngineIntegrationTest.Initializer.class)
+@Import(ProjectionEngineIntegrationTest.AcknowledgementCounts.class)
+@Testcontainers
+class ProjectionEngineIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "eventstore.read.gap-timeout=0s",
+                    "projections.batch-size=2",
+                    "projections.poll-interval=1h"
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    /**
+     * Counts acknowledgements per member in its own table. Imported rather than declared as a test
+     * configuration, which the application's component scan would pick up in every other test context.
+     */
+    static class AcknowledgementCounts implements Projection {
+
+        private final JdbcTemplate jdbcTemplate;
+        final AtomicBoolean failNext = new AtomicBoolean();
+
+        AcknowledgementCounts(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Override
+        public String name() {
+            return "test.acknowledgement-counts";
+        }
+
+        @Override
+        public Set<Class<? extends DomainEvent>> eventTypes() {
+            return Set.of(CommandAcknowledgedEvent.class);
+        }
+
+        @Override
+        public void apply(List<EventEnvelope> events) {
+            for (EventEnvelope envelope : events) {
+                jdbcTemplate.update("""
+                        insert into test_acknowledgement_counts (member_id, acknowledgements) values (?, 1)
+                        on conflict (member_id) do update
+                        set acknowledgements = test_acknowledgement_counts.acknowledgements + 1""",
+                        envelope.memberId());
+            }
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("projection failure");
+            }
+        }
+    }
+
+    @Resource
+    private JpaEventStore eventStore;
+
+    @Resource
+    private ProjectionEngine engine;
+
+    @Resource
+    private AcknowledgementCounts projection;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clearStore() {
+        jdbcTemplate.execute("truncate persisted_events, event_streams, projection_checkpoints");
+        jdbcTemplate.execute("""
+                create table if not exists test_acknowledgement_counts (
+                    member_id uuid primary key, acknowledgements int not null)""");
+        jdbcTemplate.execute("truncate test_acknowledgement_counts");
+    }
+
+    @Test
+    void appliesEventsInBatchesAndCheckpointsThem() {
+        UUID member = UUID.randomUUID();
+        eventStore.appendAll(List.of(
+                acknowledgement(member),
+                new DummyEvent(UUID.randomUUID(), Instant.now()),
+                acknowledgement(member),
+                acknowledgement(UUID.randomUUID()),
+                new DummyEvent(UUID.randomUUID(), Instant.now())));
+
+        engine.runAll();
+
+        assertThat(acknowledgements(member)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select sum(acknowledgements) from test_acknowledgement_counts",
+                Long.class)).isEqualTo(3);
+        assertThat(engine.checkpoint(projection.name()))
+                .isEqualTo(jdbcTemplate.queryForObject("select max(global_position) from persisted_events", Long.class));
+        assertThat(meterRegistry.get("projection.lag").tag("projection", projection.name()).gauge().value())
+                .isZero();
+
+        engine.runAll();
+        assertThat(acknowledgements(member)).isEqualTo(2);
+    }
+
+    @Test
+    void rollsBackAFailedBatchTogetherWithItsCheckpoint() {
+        UUID member = UUID.randomUUID();
+        eventStore.append(acknowledgement(member));
+        projection.failNext.set(true);
+
+        engine.runAll();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from test_acknowledgement_counts", Long.class))
+                .isZero();
+        assertThat(engine.checkpoint(projection.name())).isZero();
+
+        engine.runAll();
+
+        assertThat(acknowledgements(member)).isEqualTo(1);
+    }
+
+    private static CommandAcknowledgedEvent acknowledgement(UUID member) {
+        return new CommandAcknowledgedEvent(UUID.randomUUID(), UUID.randomUUID(), member, Instant.now());
+    }
+
+    private int acknowledgements(UUID member) {
+        return jdbcTemplate.queryForObject(
+                "select acknowledgements from test_acknowledgement_counts where member_id = ?", Integer.class, member);
+    }
+}
@@ -0,0 +1,252 @@
+package com.disasterrelief.core.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.disasterrelief.commandcenter.persistence.InMemoryPersistedEventRepository;
+import com.disasterrelief.commandcenter.saga.CommandSaga;
+import com.disasterrelief.commandcenter.saga.CommandSagaTestBuilder;
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.SagaCompensatedEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentSagaManagerTest {
+
+    record Step(UUID aggregateId, int sequence, boolean last) implements DomainEvent {
+        @Override
+        public Instant occurredAt() {
+            return Instant.EPOCH;
+        }
+    }
+
+    /**
+     * Records the steps it sees and notices when two threads run it at once.
+     */
+    static class SequenceSaga implements Saga<UUID> {
+        private final UUID id;
+        private final List<Integer> sequences = new ArrayList<>();
+        private final AtomicInteger handled = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile boolean overlapped;
+        private boolean completed;
+
+        SequenceSaga(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public void handle(DomainEvent event) {
+            handled.incrementAndGet();
+            replay(event);
+        }
+
+        @Override
+        public void replay(DomainEvent event) {
+            if (running.incrementAndGet() > 1) overlapped = true;
+            Step step = (Step) event;
+            sequences.add(step.sequence());
+            completed = step.last();
+            Thread.yield();
+            running.decrementAndGet();
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+
+    private final Map<UUID, SequenceSaga> created = new ConcurrentHashMap<>();
+    private final ConcurrentSagaManager<UUID, SequenceSaga> manager = new ConcurrentSagaManager<>(
+            DomainEvent::aggregateId,
+            id -> created.computeIfAbsent(id, SequenceSaga::new),
+            event -> ((Step) event).sequence() == 0);
+
+    @Test
+    void keepsEachCallersOrderPerSagaWhileSagasRunInParallel() {
+        int threads = 8;
+        int steps = 200;
+        List<UUID> sagaIds = IntStream.range(0, 64).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // Every saga is fed by exactly one thread, interleaved with the other sagas of that thread
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                List<UUID> own = sagaIds.subList(t * 8, t * 8 + 8);
+                pool.submit(() -> {
+                    for (int sequence = 0; sequence < steps; sequence++) {
+                        for (UUID sagaId : own) {
+                            manager.handleEvent(new Step(sagaId, sequence, sequence == steps - 1));
+                        }
+                    }
+                });
+            }
+        }
+
+        List<Integer> expected = IntStream.range(0, steps).boxed().toList();
+        assertThat(created).hasSize(sagaIds.size());
+        created.values().forEach(saga -> assertThat(saga.sequences).isEqualTo(expected));
+        assertThat(manager.getActiveSagas()).isEmpty();
+    }
+
+    @Test
+    void neverRunsOneSagaOnTwoThreadsAtOnce() throws InterruptedException {
+        UUID sagaId = UUID.randomUUID();
+        manager.handleEvent(new Step(sagaId, 0, false));
+        int threads = 16;
+        int stepsPerThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int offset = 1 + t * stepsPerThread;
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < stepsPerThread; i++) {
+                        manager.handleEvent(new Step(sagaId, offset + i, false));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        SequenceSaga saga = created.get(sagaId);
+        assertThat(saga.overlapped).isFalse();
+        assertThat(saga.sequences).hasSize(1 + threads * stepsPerThread);
+    }
+
+    @Test
+    void ignoresEventsOfUnknownSagasThatDoNotStartOne() {
+        manager.handleEvent(new Step(UUID.randomUUID(), 3, false));
+
+        assertThat(manager.getActiveSagas()).isEmpty();
+        assertThat(created).isEmpty();
+    }
+
+    @Test
+    void replaysEachSagasEventsInOrderAcrossWorkers() {
+        int steps = 50;
+        List<UUID> sagaIds = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID()).toList();
+        List<EventEnvelope> store = new ArrayList<>();
+        for (int sequence = 0; sequence < steps; sequence++) {
+            for (UUID sagaId : sagaIds) {
+                store.add(envelope(store.size(), new Step(sagaId, sequence, sequence == steps - 1)));
+            }
+        }
+        List<ReplayProgress> reports = new ArrayList<>();
+
+        ReplayProgress done = manager.replayInParallel(store.stream(), 4, reports::add);
+
+        List<Integer> expected = IntStream.range(0, steps).boxed().toList();
+        assertThat(created).hasSize(sagaIds.size());
+        created.values().forEach(saga -> {
+            assertThat(saga.sequences).isEqualTo(expected);
+            assertThat(saga.overlapped).isFalse();
+            assertThat(saga.handled).hasValue(0);
+        });
+        assertThat(done.read()).isEqualTo(store.size());
+        assertThat(done.handled()).isEqualTo(store.size());
+        assertThat(done.skipped()).isZero();
+        assertThat(done.activeSagas()).isZero();
+        assertThat(reports).last().isEqualTo(done);
+    }
+
+    @Test
+    void replaySkipsTheEventsOfSagasThatCompletedWithoutDecodingThem() {
+        UUID finished = UUID.randomUUID();
+        UUID open = UUID.randomUUID();
+        Stream<EventEnvelope> store = Stream.of(
+                envelope(1, new Step(finished, 0, false)),
+                envelope(2, new Step(open, 0, false)),
+                envelope(3, new Step(finished, 1, true)),
+                new EventEnvelope(4, finished, 0, Step.class, null, null, () -> {
+                    throw new AssertionError("decoded an event of a completed saga");
+                }),
+                envelope(5, new Step(open, 1, false)));
+
+        ReplayProgress done = manager.replayInParallel(store, 2, progress -> { });
+
+        assertThat(created.get(finished).sequences).containsExactly(0, 1);
+        assertThat(manager.getActiveSagas()).containsOnlyKeys(open);
+        assertThat(done.read()).isEqualTo(5);
+        assertThat(done.handled()).isEqualTo(4);
+        assertThat(done.skipped()).isEqualTo(1);
+        assertThat(done.activeSagas()).isEqualTo(1);
+    }
+
+    @Test
+    void replaySkipsTheEventsOfSagasThatCompensatedWithoutCompensatingAgain() {
+        UUID commandId = UUID.randomUUID();
+        UUID teamId = UUID.randomUUID();
+        UUID alice = UUID.randomUUID();
+        Instant deadline = Instant.parse("2025-06-27T10:00:00Z");
+        List<UUID> compensations = new ArrayList<>();
+        InMemoryPersistedEventRepository recorded = new InMemoryPersistedEventRepository();
+        ConcurrentSagaManager<UUID, CommandSaga> commands = new ConcurrentSagaManager<>(
+                DomainEvent::aggregateId,
+                id -> CommandSagaTestBuilder.builder()
+                        .commandId(id)
+                        .teamId(teamId)
+                        .expectedAcknowledgers(Set.of(alice, UUID.randomUUID()))
+                        .deadline(deadline)
+                        .compensationHandler((sagaId, reason) -> compensations.add(sagaId))
+                        .persistedEventRepository(recorded)
+                        .build(),
+                event -> event instanceof CommandIssuedEvent);
+        CommandIssuedEvent issued = new CommandIssuedEvent(commandId, teamId,
+                new Message("Evacuate", UUID.randomUUID(), deadline), deadline.minusSeconds(60), deadline,
+                UUID.randomUUID(), Set.of(alice));
+        Stream<EventEnvelope> store = Stream.of(
+                new EventEnvelope(1, commandId, 1, CommandIssuedEvent.class, teamId, null, () -> issued),
+                new EventEnvelope(2, commandId, 2, SagaCompensatedEvent.class, null, null,
+                        () -> new SagaCompensatedEvent(commandId, deadline, "Timeout")),
+                new EventEnvelope(3, commandId, 3, CommandAcknowledgedEvent.class, teamId, alice, () -> {
+                    throw new AssertionError("decoded an event of a compensated saga");
+                }));
+
+        ReplayProgress done = commands.replayInParallel(store, 2, progress -> { });
+
+        assertThat(commands.getActiveSagas()).isEmpty();
+        assertThat(done.skipped()).isEqualTo(1);
+        assertThat(compensations).isEmpty();
+        assertThat(recorded.findBySagaId(commandId)).isEmpty();
+    }
+
+    @Test
+    void replayFailsWhenASagaFails() {
+        Stream<EventEnvelope> store = Stream.of(new EventEnvelope(1, UUID.randomUUID(), 0, Step.class, null, null,
+                () -> {
+                    throw new IllegalStateException("corrupt payload");
+                }));
+
+        assertThatThrownBy(() -> manager.replayInParallel(store, 2, progress -> { }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("corrupt payload");
+    }
+
+    private static EventEnvelope envelope(long position, Step step) {
+        return new EventEnvelope(position, step.aggregateId(), step.sequence(), Step.class, null, null, () -> step);
+    }
+}
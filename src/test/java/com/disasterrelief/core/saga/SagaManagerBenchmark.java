@@ -0,0 +1,151 @@
+package com.disasterrelief.core.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Events per second through {@link SagaManager} on one thread and through {@link ConcurrentSagaManager} on 1, 2,
+ * 4, ... up to the number of cores, each thread feeding its own share of the sagas, and of
+ * {@link ConcurrentSagaManager#replayInParallel} on as many workers. Run with
+ * {@code mvn test -Pbenchmark -Dtest=SagaManagerBenchmark}; {@code -Dbenchmark.sagas=...} sets the number of
+ * sagas (default 10,000), {@code -Dbenchmark.events=...} the events per saga (default 100) and
+ * {@code -Dbenchmark.work=...} the iterations of busy work each event costs (default 200).
+ */
+class SagaManagerBenchmark {
+
+    private static final int SAGAS = Integer.getInteger("benchmark.sagas", 10_000);
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 100);
+    private static final int WORK = Integer.getInteger("benchmark.work", 200);
+
+    record Tick(UUID aggregateId, int sequence) implements DomainEvent {
+        @Override
+        public Instant occurredAt() {
+            return Instant.EPOCH;
+        }
+    }
+
+    static class WorkingSaga implements Saga<UUID> {
+        private final UUID id;
+        private long state;
+        private int handled;
+
+        WorkingSaga(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public void handle(DomainEvent event) {
+            long value = state + ((Tick) event).sequence();
+            for (int i = 0; i < WORK; i++) {
+                value = value * 6364136223846793005L + 1442695040888963407L;
+            }
+            state = value;
+            handled++;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return handled == EVENTS;
+        }
+    }
+
+    @Test
+    void scalesWithCores() throws InterruptedException {
+        List<UUID> sagaIds = IntStream.range(0, SAGAS).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // Warm up both paths before measuring
+        measure("warm-up", 1, sagaIds, false);
+        measure("warm-up", 1, sagaIds, true);
+
+        measure("single", 1, sagaIds, false);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            measure("concurrent", threads, sagaIds, true);
+        }
+        if (Integer.bitCount(cores) != 1) {
+            measure("concurrent", cores, sagaIds, true);
+        }
+    }
+
+    @Test
+    void replayScalesWithCores() {
+        List<UUID> sagaIds = IntStream.range(0, SAGAS).mapToObj(i -> UUID.randomUUID()).toList();
+
+        replay(1, sagaIds);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int workers = 1; workers <= cores; workers *= 2) {
+            replay(workers, sagaIds);
+        }
+        if (Integer.bitCount(cores) != 1) {
+            replay(cores, sagaIds);
+        }
+    }
+
+    private void replay(int workers, List<UUID> sagaIds) {
+        ConcurrentSagaManager<UUID, WorkingSaga> manager =
+                new ConcurrentSagaManager<>(DomainEvent::aggregateId, WorkingSaga::new, event -> true);
+        long events = (long) SAGAS * EVENTS;
+        var store = LongStream.range(0, events).mapToObj(position -> {
+            Tick tick = new Tick(sagaIds.get((int) (position % SAGAS)), (int) (position / SAGAS));
+            return new EventEnvelope(position, tick.aggregateId(), tick.sequence(), Tick.class, null, null,
+                    () -> tick);
+        });
+
+        ReplayProgress done = manager.replayInParallel(store, workers, progress -> { });
+
+        System.out.printf("%-10s %2d workers: %,d events in %,d ms (%,d events/s)%n",
+                "replay", workers, done.read(), done.elapsed().toMillis(), done.eventsPerSecond());
+        assertThat(done.handled()).isEqualTo(events);
+        assertThat(manager.getActiveSagas()).isEmpty();
+    }
+
+    private void measure(String name, int threads, List<UUID> sagaIds, boolean concurrent)
+            throws InterruptedException {
+        SagaManager<UUID, WorkingSaga> manager = concurrent
+                ? new ConcurrentSagaManager<>(DomainEvent::aggregateId, WorkingSaga::new, event -> true)
+                : new SagaManager<>(DomainEvent::aggregateId, WorkingSaga::new, event -> true);
+
+        List<List<UUID>> shares = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            shares.add(new ArrayList<>());
+        }
+        for (int i = 0; i < sagaIds.size(); i++) {
+            shares.get(i % threads).add(sagaIds.get(i));
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (List<UUID> share : shares) {
+                pool.submit(() -> {
+                    for (int sequence = 0; sequence < EVENTS; sequence++) {
+                        for (UUID sagaId : share) {
+                            manager.handleEvent(new Tick(sagaId, sequence));
+                        }
+                    }
+                });
+            }
+        }
+        long elapsedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        long events = (long) SAGAS * EVENTS;
+        System.out.printf("%-10s %2d threads: %,d events in %,d ms (%,d events/s)%n",
+                name, threads, events, elapsedMillis, events * 1000 / elapsedMillis);
+        assertThat(manager.getActiveSagas()).isEmpty();
+    }
+}
@@ -1,21 +1,30 @@
 package com.disasterrelief.core.saga;
 
 import com.disasterrelief.commandcenter.domain.event.CommandAcknowledgedEvent;
+import com.disasterrelief.commandcenter.domain.event.CommandCenterEventTypes;
 import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.event.TeamCreatedEvent;
 import com.disasterrelief.commandcenter.domain.valueobject.Message;
 import com.disasterrelief.commandcenter.saga.CommandSaga;
 import com.disasterrelief.commandcenter.saga.CommandSagaTestBuilder;
 import com.disasterrelief.commandcenter.saga.SagaStatus;
+import com.disasterrelief.commandcenter.persistence.InMemoryPersistedEventRepository;
+import com.disasterrelief.core.deadline.DeadlineScheduler;
+import com.disasterrelief.core.deadline.MutableClock;
 import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.event.SagaCompensatedEvent;
+import com.disasterrelief.core.eventstore.EventEnvelope;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -118,6 +127,35 @@ class SagaManagerTest {
             assertFalse(sagaManager.getActiveSagas().containsKey(commandId));
         }
 
+        @Test
+        void skipsEnvelopesOfUnhandledTypesWithoutDecodingThem() {
+            // Given: a manager that only handles command events
+            Function<DomainEvent, UUID> sagaIdExtractor = DomainEvent::aggregateId;
+            SagaManager<UUID, CommandSaga> typedManager = new SagaManager<>(sagaIdExtractor,
+                    (id, startingEvent) -> CommandSagaTestBuilder.builder()
+                            .commandId(id)
+                            .teamId(teamId)
+                            .expectedAcknowledgers(expectedAcknowledgers)
+                            .deadline(deadline)
+                            .clock(clock)
+                            .build(),
+                    event -> event instanceof CommandIssuedEvent,
+                    Set.of(CommandIssuedEvent.class, CommandAcknowledgedEvent.class), null, id -> List.of());
+            CommandIssuedEvent issuedEvent = createCommandIssuedEvent(commandId, deadline);
+            EventEnvelope issued = new EventEnvelope(1, commandId, 1, CommandIssuedEvent.class, teamId, null,
+                    () -> issuedEvent);
+            EventEnvelope unrelated = new EventEnvelope(2, teamId, 1, TeamCreatedEvent.class, teamId, null,
+                    () -> { throw new AssertionError("payload must not be decoded"); });
+
+            // When: both envelopes are replayed
+            typedManager.replayEnvelopes(Stream.of(issued, unrelated));
+
+            // Then: the command saga started and the team event was never decoded
+            assertTrue(typedManager.getActiveSagas().containsKey(commandId));
+            assertTrue(issued.isDecoded());
+            assertFalse(unrelated.isDecoded());
+        }
+
         @Test
         void sagaReplaysEvents() {
             // Given: a history of valid events
@@ -134,6 +172,132 @@ class SagaManagerTest {
         }
     }
 
+    @Nested
+    class DeadlineScenarios {
+
+        private final MutableClock mutableClock = new MutableClock(Instant.parse("2025-06-27T10:00:00Z"));
+        private final DeadlineScheduler<UUID> deadlines = new DeadlineScheduler<>(mutableClock, Duration.ofSeconds(1));
+        private final InMemoryPersistedEventRepository repository = new InMemoryPersistedEventRepository();
+        private final List<UUID> compensated = new ArrayList<>();
+        private SagaManager<UUID, CommandSaga> timedManager;
+
+        @BeforeEach
+        void setupDeadlines() {
+            clock = mutableClock;
+            deadline = mutableClock.instant().plusSeconds(60);
+            timedManager = new SagaManager<>(DomainEvent::aggregateId, (id, startingEvent) -> newSaga(id),
+                    event -> event instanceof CommandIssuedEvent, Set.of(DomainEvent.class), deadlines,
+                    id -> List.of());
+        }
+
+        private CommandSaga newSaga(UUID id) {
+            return CommandSagaTestBuilder.builder()
+                    .commandId(id)
+                    .teamId(teamId)
+                    .expectedAcknowledgers(expectedAcknowledgers)
+                    .deadline(deadline)
+                    .clock(mutableClock)
+                    .compensationHandler((sagaId, reason) -> compensated.add(sagaId))
+                    .persistedEventRepository(repository)
+                    .build();
+        }
+
+        @Test
+        void compensatesAPendingSagaAtItsDeadlineWithoutFurtherEvents() {
+            // Given: a command nobody acknowledges
+            timedManager.handleEvent(createCommandIssuedEvent(commandId, deadline));
+            CommandSaga saga = timedManager.getActiveSagas().get(commandId);
+            assertTrue(deadlines.isScheduled(commandId));
+
+            // When: the deadline has not yet passed
+            mutableClock.advance(Duration.ofSeconds(59));
+            assertEquals(0, timedManager.fireDeadlines());
+            assertEquals(SagaStatus.PENDING, saga.getStatus());
+
+            // When: the deadline passes
+            mutableClock.advance(Duration.ofSeconds(1));
+            assertEquals(1, timedManager.fireDeadlines());
+
+            // Then: the saga is compensated once, dropped from memory and the compensation is published
+            assertEquals(SagaStatus.COMPENSATED, saga.getStatus());
+            assertEquals(List.of(commandId), compensated);
+            assertFalse(deadlines.isScheduled(commandId));
+            assertFalse(timedManager.getActiveSagas().containsKey(commandId));
+            SagaCompensatedEvent published = (SagaCompensatedEvent) repository.findBySagaId(commandId).stream()
+                    .filter(event -> event.getEventType().equals("saga.compensated"))
+                    .map(event -> CommandCenterEventTypes.registry()
+                            .deserialize(event.getEventType(), event.getEventPayload()))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(mutableClock.instant(), published.compensatedAt());
+        }
+
+        @Test
+        void rebuildsASagaMissingFromMemoryWhenItsDeadlineFires() {
+            // Given: a restarted manager that loaded the deadline of a command issued before the restart
+            List<DomainEvent> history = List.of(createCommandIssuedEvent(commandId, deadline),
+                    createCommandAcknowledgedEvent(commandId, member1));
+            SagaManager<UUID, CommandSaga> restarted = new SagaManager<>(DomainEvent::aggregateId,
+                    (id, startingEvent) -> newSaga(id), event -> event instanceof CommandIssuedEvent,
+                    Set.of(DomainEvent.class), deadlines, id -> id.equals(commandId) ? history : List.of());
+            deadlines.schedule(commandId, deadline);
+
+            // When: the deadline passes
+            mutableClock.advance(Duration.ofMinutes(2));
+            restarted.fireDeadlines();
+
+            // Then: the saga is rebuilt from its history, compensated once and dropped from memory
+            assertEquals(List.of(commandId), compensated);
+            assertTrue(restarted.getActiveSagas().isEmpty());
+
+            // Then: rebuilding recorded nothing but the compensation
+            assertEquals(List.of("saga.compensated"), repository.findBySagaId(commandId).stream()
+                    .map(event -> event.getEventType())
+                    .toList());
+        }
+
+        @Test
+        void replayedEventsRecordNothingAndLeaveAPassedDeadlineToFire() {
+            // Given: the history of a command whose deadline passed while nobody was running it
+            timedManager.replayEvents(List.of(createCommandIssuedEvent(commandId, deadline),
+                    createCommandAcknowledgedEvent(commandId, member1)));
+            mutableClock.advance(Duration.ofMinutes(2));
+            timedManager.replayEvents(List.of(createCommandAcknowledgedEvent(commandId, member1)));
+
+            // Then: replaying neither recorded the events again nor compensated
+            CommandSaga saga = timedManager.getActiveSagas().get(commandId);
+            assertEquals(SagaStatus.PENDING, saga.getStatus());
+            assertTrue(compensated.isEmpty());
+            assertTrue(repository.findBySagaId(commandId).isEmpty());
+
+            // When: the deadline fires
+            assertEquals(1, timedManager.fireDeadlines());
+
+            // Then: the saga compensates exactly once, recording only its compensation
+            assertEquals(List.of(commandId), compensated);
+            assertEquals(List.of("saga.compensated"), repository.findBySagaId(commandId).stream()
+                    .map(event -> event.getEventType())
+                    .toList());
+            assertTrue(timedManager.getActiveSagas().isEmpty());
+        }
+
+        @Test
+        void completedSagaCancelsItsDeadline() {
+            // Given: a command acknowledged by everyone before its deadline
+            timedManager.handleEvent(createCommandIssuedEvent(commandId, deadline));
+            timedManager.handleEvent(createCommandAcknowledgedEvent(commandId, member1));
+            timedManager.handleEvent(createCommandAcknowledgedEvent(commandId, member2));
+
+            // When: the deadline passes
+            mutableClock.advance(Duration.ofMinutes(5));
+
+            // Then: nothing fires and nothing is compensated
+            assertFalse(deadlines.isScheduled(commandId));
+            assertEquals(0, timedManager.fireDeadlines());
+            assertTrue(compensated.isEmpty());
+        }
+    }
+
     @Nested
     class FailureScenarios {
 
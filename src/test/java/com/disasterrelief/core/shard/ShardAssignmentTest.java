@@ -0,0 +1,50 @@
+package com.disasterrelief.core.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ShardAssignmentTest {
+
+    private static final int SHARDS = 256;
+
+    @Test
+    void spreadsSagasAndShardsEvenly() {
+        Map<Integer, Long> sagasPerShard = IntStream.range(0, 100_000)
+                .mapToObj(i -> ShardAssignment.shardOf(UUID.randomUUID(), SHARDS))
+                .collect(Collectors.groupingBy(shard -> shard, Collectors.counting()));
+        Map<String, Long> shardsPerNode = assign(List.of("a", "b", "c", "d")).values().stream()
+                .collect(Collectors.groupingBy(node -> node, Collectors.counting()));
+
+        assertThat(sagasPerShard).hasSize(SHARDS);
+        assertThat(sagasPerShard.values()).allSatisfy(count -> assertThat(count).isBetween(250L, 550L));
+        assertThat(shardsPerNode.values()).allSatisfy(count -> assertThat(count).isBetween(40L, 90L));
+    }
+
+    @Test
+    void movesOnlyTheShardsOfANodeThatLeavesOrJoins() {
+        Map<Integer, String> before = assign(List.of("a", "b", "c"));
+        Map<Integer, String> withoutC = assign(List.of("a", "b"));
+        Map<Integer, String> withD = assign(List.of("a", "b", "c", "d"));
+
+        before.forEach((shard, owner) -> {
+            if (!owner.equals("c")) assertThat(withoutC.get(shard)).isEqualTo(owner);
+            if (!withD.get(shard).equals("d")) assertThat(withD.get(shard)).isEqualTo(owner);
+        });
+        assertThat(withD).containsValue("d");
+    }
+
+    private static Map<Integer, String> assign(List<String> nodes) {
+        Map<Integer, String> owners = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            owners.put(shard, ShardAssignment.ownerOf(shard, nodes));
+        }
+        return owners;
+    }
+}
@@ -0,0 +1,208 @@
+package com.disasterrelief.core.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.disasterrelief.core.event.DomainEvent;
+import com.disasterrelief.core.saga.Saga;
+import com.disasterrelief.core.saga.ShardedSagaManager;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Several nodes sharing one database, each a {@link ShardLeaseManager} of its own driven by calling its
+ * heartbeat directly.
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = ShardLeaseIntegrationTest.Initializer.class)
+@Testcontainers
+class ShardLeaseIntegrationTest {
+
+    private static final int SHARDS = 32;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword()
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    record Started(UUID aggregateId) implements DomainEvent {
+        @Override
+        public Instant occurredAt() {
+            return Instant.EPOCH;
+        }
+    }
+
+    static class OpenSaga implements Saga<UUID> {
+        private final UUID id;
+
+        OpenSaga(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public void handle(DomainEvent event) {
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return false;
+        }
+    }
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearLeases() {
+        jdbcTemplate.execute("truncate saga_nodes, saga_shard_leases");
+    }
+
+    @Test
+    void splitsTheShardsBetweenNodesAndRebalancesWhenOneJoinsOrDies() {
+        ShardLeaseManager a = node("a");
+        ShardLeaseManager b = node("b");
+        beat(3, a, b);
+        assertPartitioned(a, b);
+
+        ShardLeaseManager c = node("c");
+        beat(3, a, b, c);
+        assertPartitioned(a, b, c);
+        assertThat(c.ownedShards()).isNotEmpty();
+
+        // c dies: its heartbeat and leases run out while the others keep beating
+        jdbcTemplate.update("update saga_nodes set heartbeat_at = now() - interval '1 hour' where node_id = 'c'");
+        jdbcTemplate.update("update saga_shard_leases set expires_at = now() - interval '1 hour' where owner = 'c'");
+        beat(2, a, b);
+        assertPartitioned(a, b);
+    }
+
+    @Test
+    void leavingHandsTheShardsOverWithoutWaitingForTheLeases() {
+        ShardLeaseManager a = node("a");
+        ShardLeaseManager b = node("b");
+        beat(3, a, b);
+
+        b.close();
+        beat(1, a);
+
+        assertThat(a.ownedShards()).hasSize(SHARDS);
+        assertThat(b.ownedShards()).isEmpty();
+    }
+
+    @Test
+    void eachNodeHandlesOnlyTheSagasOfItsShardsAndAdoptsThoseItTakesOver() {
+        List<UUID> sagaIds = IntStream.range(0, 200).mapToObj(i -> UUID.randomUUID()).toList();
+        Map<UUID, List<DomainEvent>> history = new ConcurrentHashMap<>();
+        sagaIds.forEach(id -> history.put(id, List.of(new Started(id))));
+        OpenSagaSource openSagas = openSagas(sagaIds);
+
+        ShardLeaseManager leasesA = node("a");
+        ShardLeaseManager leasesB = node("b");
+        ShardedSagaManager<OpenSaga> a = manager(leasesA, history, openSagas);
+        ShardedSagaManager<OpenSaga> b = manager(leasesB, history, openSagas);
+        beat(3, leasesA, leasesB);
+        a.evict(id -> true);
+        b.evict(id -> true);
+
+        // Both nodes see every event
+        for (UUID sagaId : sagaIds) {
+            a.handleEvent(new Started(sagaId));
+            b.handleEvent(new Started(sagaId));
+        }
+
+        assertThat(a.getActiveSagas()).isNotEmpty();
+        assertThat(b.getActiveSagas()).isNotEmpty();
+        assertThat(a.getActiveSagas().keySet()).doesNotContainAnyElementsOf(b.getActiveSagas().keySet());
+        assertThat(a.getActiveSagas().size() + b.getActiveSagas().size()).isEqualTo(sagaIds.size());
+
+        // b leaves: a rebuilds b's open sagas from their history, b drops them
+        leasesB.close();
+        beat(1, leasesA);
+
+        assertThat(a.getActiveSagas().keySet()).containsExactlyInAnyOrderElementsOf(sagaIds);
+        assertThat(b.getActiveSagas()).isEmpty();
+    }
+
+    private ShardLeaseManager node(String nodeId) {
+        return new ShardLeaseManager(jdbcTemplate, nodeId, SHARDS, Duration.ofSeconds(30));
+    }
+
+    private static ShardedSagaManager<OpenSaga> manager(ShardLeaseManager leases,
+                                                        Map<UUID, List<DomainEvent>> history,
+                                                        OpenSagaSource openSagas) {
+        return new ShardedSagaManager<>(DomainEvent::aggregateId, (sagaId, startingEvent) -> new OpenSaga(sagaId),
+                event -> event instanceof Started, Set.of(DomainEvent.class), null,
+                sagaId -> history.getOrDefault(sagaId, List.of()), leases, openSagas);
+    }
+
+    private static OpenSagaSource openSagas(List<UUID> sagaIds) {
+        List<UUID> sorted = sagaIds.stream().sorted().toList();
+        return (shards, shardCount, after, limit) -> sorted.stream()
+                .filter(id -> shards.contains(ShardAssignment.shardOf(id, shardCount)))
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    private static void beat(int rounds, ShardLeaseManager... nodes) {
+        for (int round = 0; round < rounds; round++) {
+            for (ShardLeaseManager node : nodes) {
+                node.heartbeat();
+            }
+        }
+    }
+
+    private void assertPartitioned(ShardLeaseManager... nodes) {
+        List<String> nodeIds = new ArrayList<>();
+        Collection<Integer> all = new ArrayList<>();
+        for (ShardLeaseManager node : nodes) {
+            nodeIds.add(node.nodeId());
+            all.addAll(node.ownedShards());
+        }
+        assertThat(all).hasSize(SHARDS);
+        assertThat(new HashSet<>(all)).hasSize(SHARDS);
+        for (ShardLeaseManager node : nodes) {
+            for (int shard : node.ownedShards()) {
+                assertThat(ShardAssignment.ownerOf(shard, nodeIds)).isEqualTo(node.nodeId());
+            }
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from saga_shard_leases where owner is not null", Integer.class)).isEqualTo(SHARDS);
+    }
+}
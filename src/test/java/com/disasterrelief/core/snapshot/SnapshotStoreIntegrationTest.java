@@ -0,0 +1,60 @@
+package com.disasterrelief.core.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.annotation.Resource;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(initializers = SnapshotStoreIntegrationTest.Initializer.class)
+@Testcontainers
+public class SnapshotStoreIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword()
+            ).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Resource
+    private JpaSnapshotStore snapshotStore;
+
+    @Test
+    void keepsOnlyTheNewestSnapshot() {
+        UUID aggregateId = UUID.randomUUID();
+        Instant now = Instant.parse("2025-06-27T10:00:00Z");
+
+        snapshotStore.save(new Snapshot(aggregateId, 100, "{\"v\":100}", now));
+        snapshotStore.save(new Snapshot(aggregateId, 200, "{\"v\":200}", now));
+        snapshotStore.save(new Snapshot(aggregateId, 150, "{\"v\":150}", now));
+
+        assertThat(snapshotStore.findLatest(aggregateId)).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.version()).isEqualTo(200);
+            assertThat(snapshot.state()).isEqualTo("{\"v\":200}");
+        });
+        assertThat(snapshotStore.findLatest(UUID.randomUUID())).isEmpty();
+    }
+}
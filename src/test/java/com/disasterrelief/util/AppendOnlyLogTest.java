@@ -0,0 +1,38 @@
+package com.disasterrelief.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AppendOnlyLogTest {
+
+    private final AppendOnlyLog<String> log = new AppendOnlyLog<>();
+
+    @Test
+    void snapshotsKeepTheirSizeAcrossChunks() {
+        for (int i = 0; i < 3000; i++) {
+            log.append(index -> "e" + index);
+        }
+        List<String> snapshot = log.snapshot();
+
+        log.append(index -> "late");
+
+        assertThat(snapshot).hasSize(3000);
+        assertThat(snapshot.get(2999)).isEqualTo("e2999");
+        assertThat(log.size()).isEqualTo(3001);
+    }
+
+    @Test
+    void aFactoryThatThrowsAppendsNothingAndLeavesTheLogUsable() {
+        log.append(index -> "first");
+
+        assertThatThrownBy(() -> log.append(index -> {
+            throw new IllegalArgumentException("bad event");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(log.append(index -> "second")).isEqualTo(1);
+        assertThat(log.snapshot()).containsExactly("first", "second");
+    }
+}
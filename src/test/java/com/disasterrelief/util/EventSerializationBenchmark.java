@@ -0,0 +1,85 @@
+package com.disasterrelief.util;
+
+import com.disasterrelief.commandcenter.domain.event.CommandIssuedEvent;
+import com.disasterrelief.commandcenter.domain.valueobject.Message;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of {@link EventSerializationUtil} with a plain {@code ObjectMapper} used the way it was before
+ * (type lookup per call, String in and out). The GC profiler reports the allocation rate; compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per operation. Run with
+ * {@code mvn test -Pbenchmark -Dtest=EventSerializationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private final ObjectMapper plainMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private CommandIssuedEvent event;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        event = new CommandIssuedEvent(UUID.randomUUID(), UUID.randomUUID(),
+                new Message("Evacuate sector 4 via the north bridge", UUID.randomUUID(), now), now,
+                now.plusSeconds(600), UUID.randomUUID(), Set.of(UUID.randomUUID(), UUID.randomUUID()));
+        json = EventSerializationUtil.serialize(event);
+        jsonBytes = EventSerializationUtil.serializeToBytes(event);
+    }
+
+    @Benchmark
+    public String serializePlain() throws Exception {
+        return plainMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() {
+        return EventSerializationUtil.serializeToBytes(event);
+    }
+
+    @Benchmark
+    public Object deserializePlain() throws Exception {
+        return plainMapper.readValue(json, CommandIssuedEvent.class);
+    }
+
+    @Benchmark
+    public Object deserializeBytes() {
+        return EventSerializationUtil.deserialize(jsonBytes, CommandIssuedEvent.class);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventSerializationBenchmark.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
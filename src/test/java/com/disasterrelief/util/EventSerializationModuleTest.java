@@ -0,0 +1,41 @@
+package com.disasterrelief.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EventSerializationModuleTest {
+
+    private final ObjectMapper stock = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectMapper fast = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new EventSerializationModule());
+
+    record Stamped(UUID id, Instant at) {
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-06-27T10:00:00.123456789Z", "2025-06-27T10:00:00Z", "1970-01-01T00:00:00.000000001Z",
+            "1969-12-31T23:59:59.5Z", "+1000000-01-01T00:00:00Z"})
+    void writesValuesTheStockSerializersReadBack(String instant) throws Exception {
+        Stamped value = new Stamped(UUID.randomUUID(), Instant.parse(instant));
+
+        String json = fast.writeValueAsString(value);
+
+        assertThat(stock.readValue(json, Stamped.class)).isEqualTo(value);
+        assertThat(stock.readTree(json).get("id")).isEqualTo(stock.readTree(stock.writeValueAsString(value)).get("id"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-06-27T10:00:00.123456789Z", "2025-06-27T10:00:00.100Z"})
+    void matchesStockOutputForTypicalInstants(String instant) throws Exception {
+        Stamped value = new Stamped(UUID.randomUUID(), Instant.parse(instant));
+
+        assertThat(fast.writeValueAsString(value)).isEqualTo(stock.writeValueAsString(value));
+    }
+}